@@ -31,7 +31,7 @@ public class ColorBackground extends Background {
 	 * No need for logic.
 	 */
 	@Override
-	public synchronized void update() {
+	public void update() {
 		return;
 	}
 
@@ -39,11 +39,19 @@ public class ColorBackground extends Background {
 	 * Self explanatory.
 	 */
 	@Override
-	public synchronized void render() {
+	public void render() {
 		this.application.screen().drawRectangle((int) this.x, (int) this.y, this.width, this.height, this.color, 0, 0,
 				true);
 	}
 
+	/**
+	 * No logic, can be updated on any thread.
+	 */
+	@Override
+	public boolean isUpdateIndependent() {
+		return true;
+	}
+
 	/**
 	 * Self explanatory.
 	 */
@@ -73,7 +81,9 @@ public class ColorBackground extends Background {
 	 */
 	@Override
 	public void setX(final double x) {
+		this.invalidate();
 		this.x = x;
+		this.invalidate();
 	}
 
 	/**
@@ -81,7 +91,9 @@ public class ColorBackground extends Background {
 	 */
 	@Override
 	public void setY(final double y) {
+		this.invalidate();
 		this.y = y;
+		this.invalidate();
 	}
 
 	/**
@@ -105,7 +117,9 @@ public class ColorBackground extends Background {
 	 */
 	@Override
 	public void setWidth(final int width) {
+		this.invalidate();
 		this.width = width;
+		this.invalidate();
 	}
 
 	/**
@@ -113,7 +127,9 @@ public class ColorBackground extends Background {
 	 */
 	@Override
 	public void setHeight(final int height) {
+		this.invalidate();
 		this.height = height;
+		this.invalidate();
 	}
 
 	/**
@@ -128,6 +144,7 @@ public class ColorBackground extends Background {
 	 */
 	public void setColor(final Color color) {
 		this.color = color;
+		this.invalidate();
 	}
 
 	/**
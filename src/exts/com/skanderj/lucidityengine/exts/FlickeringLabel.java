@@ -16,6 +16,9 @@ import com.skanderj.lucidityengine.util.Utilities;
  *
  */
 public class FlickeringLabel extends ApplicationObject {
+	// How far away from its bounds the flickering text can be drawn
+	private static final int FLICKER_MARGIN = 32;
+
 	private final int x0, y0, width, height;
 	private final String content;
 	private OnScreenTextProperties properties;
@@ -39,6 +42,8 @@ public class FlickeringLabel extends ApplicationObject {
 
 	@Override
 	public void update() {
+		final boolean wasFlickering = (this.xFlicker != 0) || (this.yFlicker != 0)
+				|| (this.flickerColor != this.properties.color);
 		if (this.random.nextDouble() > 0.85) {
 			this.xFlicker += this.random.nextDouble() > 0.5 ? -5 : 5;
 			this.yFlicker += this.random.nextDouble() > 0.5 ? -3 : 3;
@@ -48,12 +53,57 @@ public class FlickeringLabel extends ApplicationObject {
 			this.yFlicker = 0;
 			this.flickerColor = this.properties.color;
 		}
+		if (wasFlickering || (this.xFlicker != 0) || (this.yFlicker != 0)
+				|| (this.flickerColor != this.properties.color)) {
+			// Flickering moves the text around, leave it some room
+			this.application.screen().invalidate(this.x0 - FlickeringLabel.FLICKER_MARGIN,
+					this.y0 - FlickeringLabel.FLICKER_MARGIN, this.width + (2 * FlickeringLabel.FLICKER_MARGIN),
+					this.height + (2 * FlickeringLabel.FLICKER_MARGIN));
+		}
 	}
 
 	@Override
 	public void render() {
-		new OnScreenText(this.content, this.properties.build(this.flickerColor)).draw(this.application.screen(),
-				this.x0 + this.xFlicker, this.y0 + this.yFlicker, this.width, this.height);
+		this.render(this.properties, this.flickerColor, this.xFlicker, this.yFlicker);
+	}
+
+	/**
+	 * Renders the flicker captured when the scene was published.
+	 */
+	@Override
+	public void render(final double alpha, final Object state) {
+		final RenderState renderState = (RenderState) state;
+		this.render(renderState.properties, renderState.flickerColor, renderState.xFlicker, renderState.yFlicker);
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private void render(final OnScreenTextProperties properties, final Color flickerColor, final int xFlicker,
+			final int yFlicker) {
+		new OnScreenText(this.content, properties.build(flickerColor)).draw(this.application.screen(),
+				this.x0 + xFlicker, this.y0 + yFlicker, this.width, this.height);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	@Override
+	public Object captureRenderState(final Object state) {
+		final RenderState renderState = state == null ? new RenderState() : (RenderState) state;
+		renderState.properties = this.properties;
+		renderState.flickerColor = this.flickerColor;
+		renderState.xFlicker = this.xFlicker;
+		renderState.yFlicker = this.yFlicker;
+		return renderState;
+	}
+
+	/**
+	 * Only touches its own flicker state, can be updated on any thread.
+	 */
+	@Override
+	public boolean isUpdateIndependent() {
+		return true;
 	}
 
 	public OnScreenTextProperties getProperties() {
@@ -62,6 +112,9 @@ public class FlickeringLabel extends ApplicationObject {
 
 	public void setProperties(final OnScreenTextProperties properties) {
 		this.properties = properties;
+		this.application.screen().invalidate(this.x0 - FlickeringLabel.FLICKER_MARGIN,
+				this.y0 - FlickeringLabel.FLICKER_MARGIN, this.width + (2 * FlickeringLabel.FLICKER_MARGIN),
+				this.height + (2 * FlickeringLabel.FLICKER_MARGIN));
 	}
 
 	@Override
@@ -74,4 +127,16 @@ public class FlickeringLabel extends ApplicationObject {
 		return String.format("FlickeringText (params: x0=%d, y0=%d, content=%s, properties=%s", this.x0, this.y0,
 				this.content, this.properties);
 	}
+
+	/**
+	 * The flicker as it was when the scene was published.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class RenderState {
+		private OnScreenTextProperties properties;
+		private Color flickerColor;
+		private int xFlicker, yFlicker;
+	}
 }
@@ -43,6 +43,14 @@ public class ImageBackground extends Background {
 		this.application.screen().drawImage(this.image, (int) this.x, (int) this.y, this.width, this.height);
 	}
 
+	/**
+	 * No logic, can be updated on any thread.
+	 */
+	@Override
+	public boolean isUpdateIndependent() {
+		return true;
+	}
+
 	/**
 	 * Self explanatory.
 	 */
@@ -72,7 +80,9 @@ public class ImageBackground extends Background {
 	 */
 	@Override
 	public void setX(final double x) {
+		this.invalidate();
 		this.x = x;
+		this.invalidate();
 	}
 
 	/**
@@ -80,7 +90,9 @@ public class ImageBackground extends Background {
 	 */
 	@Override
 	public void setY(final double y) {
+		this.invalidate();
 		this.y = y;
+		this.invalidate();
 	}
 
 	/**
@@ -104,7 +116,9 @@ public class ImageBackground extends Background {
 	 */
 	@Override
 	public void setWidth(final int width) {
+		this.invalidate();
 		this.width = width;
+		this.invalidate();
 	}
 
 	/**
@@ -112,7 +126,9 @@ public class ImageBackground extends Background {
 	 */
 	@Override
 	public void setHeight(final int height) {
+		this.invalidate();
 		this.height = height;
+		this.invalidate();
 	}
 
 	/**
@@ -127,6 +143,7 @@ public class ImageBackground extends Background {
 	 */
 	public void setImage(final BufferedImage image) {
 		this.image = image;
+		this.invalidate();
 	}
 
 	/**
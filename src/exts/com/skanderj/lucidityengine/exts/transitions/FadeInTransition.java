@@ -33,15 +33,39 @@ public class FadeInTransition extends Transition {
 	 */
 	@Override
 	public void render() {
-		if (!this.isDone) {
+		this.render(this.timer, this.isDone);
+	}
+
+	/**
+	 * Self explanatory. Renders the timer captured when the scene was published.
+	 */
+	@Override
+	public void render(final double alpha, final Object state) {
+		final RenderState renderState = (RenderState) state;
+		this.render(renderState.timer, renderState.isDone);
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private void render(final int timer, final boolean isDone) {
+		if (!isDone) {
 			int alpha = 0;
-			alpha = (int) Utilities.map(this.timer, 0, this.durationInFrames, 255, 0, true);
+			alpha = (int) Utilities.map(timer, 0, this.durationInFrames, 255, 0, true);
 			final Color newColor = new Color(this.color.getRed(), this.color.getBlue(), this.color.getGreen(), alpha);
 			this.application.screen().drawRectangle(0, 0, this.application.window().getConfiguration().getWidth(),
 					this.application.window().getConfiguration().getHeight(), newColor, 0, 0, true);
 		}
 	}
 
+	/**
+	 * Only touches its own timer, can be updated on any thread.
+	 */
+	@Override
+	public boolean isUpdateIndependent() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("FadeInTransition (params: duration=%d, color=%s)", this.durationInFrames, this.color);
@@ -2,6 +2,7 @@ package com.skanderj.lucidityengine;
 
 import java.lang.reflect.InvocationTargetException;
 
+import com.skanderj.lucidityengine.FramePacer.PacingMode;
 import com.skanderj.lucidityengine.ThreadWrapper.ThreadWrapperType;
 import com.skanderj.lucidityengine.core.Engine;
 import com.skanderj.lucidityengine.graphics.Screen;
@@ -10,11 +11,14 @@ import com.skanderj.lucidityengine.graphics.WindowConfiguration;
 import com.skanderj.lucidityengine.input.Keyboard;
 import com.skanderj.lucidityengine.input.Mouse;
 import com.skanderj.lucidityengine.input.binds.Binds;
+import com.skanderj.lucidityengine.logging.BinaryLog;
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
 import com.skanderj.lucidityengine.resources.Fonts;
 import com.skanderj.lucidityengine.resources.Images;
+import com.skanderj.lucidityengine.resources.ResourceLoader;
 import com.skanderj.lucidityengine.resources.audio.Audios;
+import com.skanderj.lucidityengine.util.Utilities;
 
 /**
  *
@@ -24,10 +28,15 @@ import com.skanderj.lucidityengine.resources.audio.Audios;
  *
  */
 public abstract class Application {
+	// How many fixed updates can be run in a single cycle before ticks get dropped
+	public static final int MAXIMUM_UPDATES_PER_CYCLE = 5;
+
 	// Updating & rendering threads
 	private final ThreadWrapper updatingThreadWrapper, renderingThreadWrapper;
 	// How many updates per second/frames per second
 	private final double targetUpdatesPerSecond, targetFramesPerSecond;
+	// Point in time (System.nanoTime()) reached by the last fixed update
+	private volatile long simulationTime;
 
 	// Display area wrapper
 	protected final Window window;
@@ -59,26 +68,45 @@ public abstract class Application {
 
 			@Override
 			protected void cycle() {
-				long startTime = System.nanoTime();
-				final double nanosecondsPerTick = 1000000000.0 / targetUpdatesPerSecond;
-				int updates = 0;
+				final long nanosecondsPerTick = (long) (1000000000.0D / targetUpdatesPerSecond);
+				final long maximumAccumulatedTime = nanosecondsPerTick * Application.MAXIMUM_UPDATES_PER_CYCLE;
+				final double fixedDelta = 1.0D / targetUpdatesPerSecond;
+				long previousTime = System.nanoTime();
+				long accumulatedTime = 0;
+				int updates = 0, droppedUpdates = 0;
 				long resetTime = System.currentTimeMillis();
-				double delta = 0.0D;
-				while (this.isRunning) {
-					final long endTime = System.nanoTime();
-					delta += (endTime - startTime) / nanosecondsPerTick;
-					startTime = endTime;
-					while (delta >= 1) {
+				Application.this.simulationTime = previousTime;
+				this.framePacer.begin(targetUpdatesPerSecond);
+				while (this.shouldKeepCycling()) {
+					final long currentTime = System.nanoTime();
+					accumulatedTime += currentTime - previousTime;
+					previousTime = currentTime;
+					// Spiral of death protection: if we fell too far behind, drop the extra ticks
+					// instead of trying to catch up with them
+					if (accumulatedTime > maximumAccumulatedTime) {
+						droppedUpdates += (accumulatedTime - maximumAccumulatedTime) / nanosecondsPerTick;
+						accumulatedTime = maximumAccumulatedTime;
+					}
+					while (accumulatedTime >= nanosecondsPerTick) {
 						updates++;
-						Application.this.update(delta);
+						// Time the simulation reaches with this update, published with the scene so
+						// the rendering thread interpolates from it
+						Application.this.simulationTime = (currentTime - accumulatedTime) + nanosecondsPerTick;
+						Application.this.update(fixedDelta);
 						Application.this.updateInputDevices();
-						delta -= 1;
+						accumulatedTime -= nanosecondsPerTick;
 					}
 					if ((System.currentTimeMillis() - resetTime) >= 1000) {
 						resetTime += 1000;
-						Logger.log(this.getClass(), LogLevel.DEVELOPMENT, "Updates for the last second: %d", updates);
+						Application.logStatistics(this.getClass(),
+								"Updates for the last second: %d, dropped: %d (%s jitter: %.3f ms avg, %.3f ms std-dev, %.3f ms max)",
+								updates, droppedUpdates, this.framePacer.mode(), this.framePacer.averageJitter(),
+								this.framePacer.jitterStandardDeviation(), this.framePacer.maximumJitter());
+						this.framePacer.resetStatistics();
 						updates = 0;
+						droppedUpdates = 0;
 					}
+					this.framePacer.pace();
 				}
 			}
 
@@ -101,7 +129,8 @@ public abstract class Application {
 				int frames = 0;
 				long resetTime = System.currentTimeMillis();
 				double delta = 0.0D;
-				while (this.isRunning) {
+				this.framePacer.begin(targetFramesPerSecond);
+				while (this.shouldKeepCycling()) {
 					final long endTime = System.nanoTime();
 					delta += (endTime - startTime) / nanosecondsPerTick;
 					startTime = endTime;
@@ -116,9 +145,17 @@ public abstract class Application {
 					}
 					if ((System.currentTimeMillis() - resetTime) >= 1000) {
 						resetTime += 1000;
-						Logger.log(this.getClass(), LogLevel.DEVELOPMENT, "Frames for the last second: %d", frames);
+						Application.logStatistics(this.getClass(),
+								"Frames for the last second: %d, frame time: %.3f ms avg, %.3f ms max (%s jitter: %.3f ms avg, %.3f ms std-dev, %.3f ms max)",
+								frames, Application.this.screen().averageFrameTime(),
+								Application.this.screen().maximumFrameTime(), this.framePacer.mode(),
+								this.framePacer.averageJitter(), this.framePacer.jitterStandardDeviation(),
+								this.framePacer.maximumJitter());
+						this.framePacer.resetStatistics();
+						Application.this.screen().resetStatistics();
 						frames = 0;
 					}
+					this.framePacer.pace();
 				}
 			}
 
@@ -145,6 +182,8 @@ public abstract class Application {
 		this.attachInputDevices();
 		// Load all the resources here
 		this.loadResources();
+		// Wait for the resources loaded asynchronously that are needed right away
+		ResourceLoader.awaitCriticalLoads();
 		// Register your application objects for future use
 		this.registerApplicationObjects();
 		// Register your scenes here
@@ -157,7 +196,7 @@ public abstract class Application {
 
 	/**
 	 * Load all your resources here. See {@link Audios}, {@link Images} &
-	 * {@link Fonts}.
+	 * {@link Fonts}, or {@link ResourceLoader} to load them in parallel.
 	 */
 	protected abstract void loadResources();
 
@@ -188,6 +227,18 @@ public abstract class Application {
 		this.window.registerInputDevice(this.mouse);
 	}
 
+	/**
+	 * Used internally to report the threads' statistics, to the binary log if it's
+	 * open & as development logs otherwise.
+	 */
+	private static void logStatistics(final Class<?> clazz, final String message, final Object... args) {
+		if (BinaryLog.isOpen()) {
+			BinaryLog.record(clazz, LogLevel.DEVELOPMENT, message, args);
+		} else {
+			Logger.log(clazz, LogLevel.DEVELOPMENT, message, args);
+		}
+	}
+
 	/**
 	 * Used internally to refresh input devices.
 	 */
@@ -234,9 +285,10 @@ public abstract class Application {
 	protected abstract void destroyThread(final ThreadWrapperType type);
 
 	/**
-	 * Used internally to update the application's logic.
+	 * Used internally to update the application's logic. Called at a fixed rate
+	 * of {@link Application#getTargetUpdatesPerSecond()}.
 	 * 
-	 * @param delta the time elapsed between now and the last upate
+	 * @param delta the fixed time step, in seconds
 	 */
 	protected void update(final double delta) {
 		Engine.updateScene();
@@ -246,15 +298,40 @@ public abstract class Application {
 	}
 
 	/**
-	 * Used internally to render the application's components.
+	 * Used internally to render the application's components. Objects are given
+	 * the current interpolation factor, see {@link Application#interpolation()}.
 	 */
 	protected void render() {
 		final Screen screen = this.window.getScreen();
-		screen.push();
-		Engine.renderScene();
+		if (!screen.push()) {
+			return;
+		}
+		Engine.renderScene(this);
 		screen.pop();
 	}
 
+	/**
+	 * How far the rendering thread is between the update the scene being rendered
+	 * was published after & the next one. Allows objects to render smoothly at a
+	 * higher rate than they are updated. Only meaningful on the rendering thread.
+	 * 
+	 * @return a value between 0 (state of the previous update) & 1 (state of the
+	 *         last update), see {@link Utilities#interpolate(double, double, double)}
+	 */
+	public final double interpolation() {
+		final double nanosecondsPerTick = 1000000000.0D / this.targetUpdatesPerSecond;
+		final double alpha = (System.nanoTime() - Engine.renderedSimulationTime()) / nanosecondsPerTick;
+		return Math.max(0, Math.min(1, alpha));
+	}
+
+	/**
+	 * @return the point in time (System.nanoTime()) reached by the current or last
+	 *         fixed update
+	 */
+	public final long simulationTime() {
+		return this.simulationTime;
+	}
+
 	/**
 	 * Sets the first scene of the application.
 	 * 
@@ -282,6 +359,24 @@ public abstract class Application {
 		return this.renderingThreadWrapper;
 	}
 
+	/**
+	 * Changes how the updating or the rendering thread waits between two cycles.
+	 * See {@link PacingMode}.
+	 * 
+	 * @param type the thread's type: UPDATE or RENDER
+	 * @param mode the new pacing mode
+	 */
+	public final void setPacingMode(final ThreadWrapperType type, final PacingMode mode) {
+		switch (type) {
+		case UPDATE:
+			this.updatingThreadWrapper.framePacer().setMode(mode);
+			break;
+		case RENDER:
+			this.renderingThreadWrapper.framePacer().setMode(mode);
+			break;
+		}
+	}
+
 	/**
 	 * Self explanatory.
 	 * 
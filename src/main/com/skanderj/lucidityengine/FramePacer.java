@@ -0,0 +1,196 @@
+package com.skanderj.lucidityengine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *
+ * Used by the thread wrappers to wait between two cycles without pinning a
+ * whole core. Keeps track of how late every cycle wakes up (the jitter) so the
+ * different pacing modes can be compared.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class FramePacer {
+	// Under this many nanoseconds before the deadline, parking stops & spinning
+	// takes over (the OS scheduler can't be trusted for shorter waits)
+	public static final long DEFAULT_SPIN_THRESHOLD = 1000000L;
+
+	// Current pacing mode, can be changed while the thread is running
+	private volatile PacingMode mode;
+	// How long before the deadline parking stops
+	private volatile long spinThreshold;
+
+	// Duration of a single cycle & deadline of the current one
+	private long nanosecondsPerCycle, nextDeadline;
+
+	// Jitter statistics since the last reset
+	private long samples, maximumJitter;
+	private double jitterSum, jitterSquaredSum;
+
+	/**
+	 * Basic constructor.
+	 *
+	 * @param mode the initial pacing mode
+	 */
+	public FramePacer(final PacingMode mode) {
+		this.mode = mode;
+		this.spinThreshold = FramePacer.DEFAULT_SPIN_THRESHOLD;
+		this.nanosecondsPerCycle = 0;
+		this.nextDeadline = 0;
+		this.resetStatistics();
+	}
+
+	/**
+	 * Starts pacing at the provided rate. The first deadline is one cycle from
+	 * now.
+	 *
+	 * @param targetCyclesPerSecond how many cycles per second are desired
+	 */
+	public final void begin(final double targetCyclesPerSecond) {
+		this.nanosecondsPerCycle = (long) (1000000000.0D / targetCyclesPerSecond);
+		this.nextDeadline = System.nanoTime() + this.nanosecondsPerCycle;
+		this.resetStatistics();
+	}
+
+	/**
+	 * Waits until the end of the current cycle using the current mode, records how
+	 * late the wake up was & moves the deadline to the next cycle. If the thread
+	 * fell more than a whole cycle behind, the deadline is moved forward instead of
+	 * trying to catch up.
+	 */
+	public final void pace() {
+		this.mode.waitUntil(this.nextDeadline, this.spinThreshold);
+		final long now = System.nanoTime();
+		final long jitter = Math.max(0, now - this.nextDeadline);
+		this.samples += 1;
+		this.jitterSum += jitter;
+		this.jitterSquaredSum += (double) jitter * jitter;
+		this.maximumJitter = Math.max(this.maximumJitter, jitter);
+		this.nextDeadline += this.nanosecondsPerCycle;
+		if ((now - this.nextDeadline) > this.nanosecondsPerCycle) {
+			this.nextDeadline = now + this.nanosecondsPerCycle;
+		}
+	}
+
+	/**
+	 * Clears the jitter statistics.
+	 */
+	public final void resetStatistics() {
+		this.samples = 0;
+		this.maximumJitter = 0;
+		this.jitterSum = 0;
+		this.jitterSquaredSum = 0;
+	}
+
+	/**
+	 * @return the average wake up delay since the last reset, in milliseconds
+	 */
+	public final double averageJitter() {
+		return this.samples == 0 ? 0 : (this.jitterSum / this.samples) / 1000000.0D;
+	}
+
+	/**
+	 * @return the standard deviation of the wake up delay since the last reset, in
+	 *         milliseconds
+	 */
+	public final double jitterStandardDeviation() {
+		if (this.samples == 0) {
+			return 0;
+		}
+		final double mean = this.jitterSum / this.samples;
+		final double variance = Math.max(0, (this.jitterSquaredSum / this.samples) - (mean * mean));
+		return Math.sqrt(variance) / 1000000.0D;
+	}
+
+	/**
+	 * @return the worst wake up delay since the last reset, in milliseconds
+	 */
+	public final double maximumJitter() {
+		return this.maximumJitter / 1000000.0D;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public final PacingMode mode() {
+		return this.mode;
+	}
+
+	/**
+	 * Self explanatory. Takes effect on the next cycle.
+	 */
+	public final void setMode(final PacingMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Self explanatory. Only used by {@link PacingMode#PARK_SPIN}.
+	 */
+	public final long spinThreshold() {
+		return this.spinThreshold;
+	}
+
+	/**
+	 * Self explanatory. Only used by {@link PacingMode#PARK_SPIN}.
+	 */
+	public final void setSpinThreshold(final long spinThreshold) {
+		this.spinThreshold = spinThreshold;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FramePacer (params: mode=%s, jitter=%.3f ms avg / %.3f ms std-dev / %.3f ms max)",
+				this.mode, this.averageJitter(), this.jitterStandardDeviation(), this.maximumJitter());
+	}
+
+	/**
+	 * Represents the different ways of waiting for the next cycle. BUSY_SPIN: loops
+	 * on the clock, lowest jitter but a full core is used. PARK_SPIN: parks the
+	 * thread until shortly before the deadline then spins for the rest, almost as
+	 * precise for a fraction of the CPU. SPIN_WAIT: loops on the clock with
+	 * {@link Thread#onSpinWait()} hints, still a full core but friendlier to the
+	 * sibling hyper-thread.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	public static enum PacingMode {
+		BUSY_SPIN {
+			@Override
+			protected void waitUntil(final long deadline, final long spinThreshold) {
+				while ((deadline - System.nanoTime()) > 0) {
+					continue;
+				}
+			}
+		},
+		PARK_SPIN {
+			@Override
+			protected void waitUntil(final long deadline, final long spinThreshold) {
+				long remaining;
+				while ((remaining = deadline - System.nanoTime()) > spinThreshold) {
+					LockSupport.parkNanos(remaining - spinThreshold);
+				}
+				while ((deadline - System.nanoTime()) > 0) {
+					Thread.onSpinWait();
+				}
+			}
+		},
+		SPIN_WAIT {
+			@Override
+			protected void waitUntil(final long deadline, final long spinThreshold) {
+				while ((deadline - System.nanoTime()) > 0) {
+					Thread.onSpinWait();
+				}
+			}
+		};
+
+		/**
+		 * Returns once the deadline is reached.
+		 *
+		 * @param deadline      a {@link System#nanoTime()} value
+		 * @param spinThreshold see {@link FramePacer#spinThreshold()}
+		 */
+		protected abstract void waitUntil(long deadline, long spinThreshold);
+	}
+}
@@ -15,16 +15,29 @@ public abstract class ThreadWrapper implements Runnable {
 	protected final Thread thread;
 	// These state variables need to be volatile to have any effect
 	protected volatile boolean isRunning, isPaused;
+	// Used by the cycle to wait between two iterations
+	protected final FramePacer framePacer;
 
 	/**
 	 * Basic constructor. Creates the thread object & initalizes the state
-	 * variables.
+	 * variables. Cycles are paced with {@link FramePacer.PacingMode#PARK_SPIN}.
 	 *
 	 * @param threadName the name of the thread
 	 */
 	public ThreadWrapper(final String threadName) {
+		this(threadName, FramePacer.PacingMode.PARK_SPIN);
+	}
+
+	/**
+	 * Creates the thread object & initalizes the state variables.
+	 *
+	 * @param threadName the name of the thread
+	 * @param pacingMode how the thread waits between two cycles
+	 */
+	public ThreadWrapper(final String threadName, final FramePacer.PacingMode pacingMode) {
 		this.thread = new Thread(this, threadName);
 		this.isRunning = this.isPaused = false;
+		this.framePacer = new FramePacer(pacingMode);
 	}
 
 	/**
@@ -60,7 +73,8 @@ public abstract class ThreadWrapper implements Runnable {
 	 * This is the thread's object main loop. Calls {@link ThreadWrapper#create()}
 	 * before entering the main loop & {@link ThreadWrapper#destroy()} after exiting
 	 * the main loop. If thread is paused, sleep for 1 millisecond to allow
-	 * resuming.
+	 * resuming. {@link ThreadWrapper#cycle()} implementations are expected to
+	 * return when the thread gets paused.
 	 */
 	@Override
 	public final void run() {
@@ -91,10 +105,21 @@ public abstract class ThreadWrapper implements Runnable {
 	protected abstract void destroy();
 
 	/**
-	 * Called every cycle in the main loop.
+	 * Called every cycle in the main loop. Use
+	 * {@link ThreadWrapper#shouldKeepCycling()} & {@link ThreadWrapper#framePacer}
+	 * when looping inside.
 	 */
 	protected abstract void cycle();
 
+	/**
+	 * Self explanatory.
+	 *
+	 * @return whether the thread is running & not paused.
+	 */
+	protected final boolean shouldKeepCycling() {
+		return this.isRunning && !this.isPaused;
+	}
+
 	/**
 	 * Self explanatory.
 	 *
@@ -113,6 +138,16 @@ public abstract class ThreadWrapper implements Runnable {
 		return this.isPaused;
 	}
 
+	/**
+	 * Self explanatory.
+	 *
+	 * @return the frame pacer of this thread, to change its mode or read its
+	 *         jitter statistics
+	 */
+	public final FramePacer framePacer() {
+		return this.framePacer;
+	}
+
 	/**
 	 * Pauses the thread's execution.
 	 */
@@ -33,6 +33,58 @@ public abstract class ApplicationObject implements Comparable<ApplicationObject>
 	 */
 	public abstract void render();
 
+	/**
+	 * Called every cycle of the rendering thread with the interpolation factor
+	 * between the last two updates. Override it to render smoothly when updates run
+	 * at a lower rate than frames, defaults to {@link ApplicationObject#render()}.
+	 * 
+	 * @param alpha between 0 (state of the previous update) & 1 (state of the last
+	 *              update)
+	 */
+	public void render(final double alpha) {
+		this.render();
+	}
+
+	/**
+	 * Called every cycle of the rendering thread with the state this object
+	 * captured when the scene was published (see
+	 * {@link ApplicationObject#captureRenderState(Object)}). Defaults to
+	 * {@link ApplicationObject#render(double)}.
+	 * 
+	 * @param alpha see {@link ApplicationObject#render(double)}
+	 * @param state the captured state, <code>null</code> if none was captured
+	 */
+	public void render(final double alpha, final Object state) {
+		this.render(alpha);
+	}
+
+	/**
+	 * Called on the updating thread once every object was updated, right before
+	 * the scene is handed to the rendering thread. Copies whatever rendering reads
+	 * from this object into a state travelling with the scene, so rendering never
+	 * reads fields the updating thread is writing. Objects which don't override it
+	 * render from their live fields & may see them in the middle of an update.
+	 * 
+	 * @param state the state this object returned for the same snapshot three
+	 *              publications ago, to be reused, or <code>null</code>
+	 * @return the captured state, <code>null</code> unless overridden
+	 */
+	public Object captureRenderState(final Object state) {
+		return null;
+	}
+
+	/**
+	 * Whether {@link ApplicationObject#update()} only touches this object's own
+	 * state. Independent objects may be updated on the engine's worker threads
+	 * alongside the other objects of the same priority. Read once when the object
+	 * is added to a scene.
+	 * 
+	 * @return <code>false</code> unless overridden
+	 */
+	public boolean isUpdateIndependent() {
+		return false;
+	}
+
 	/**
 	 * Self explanatory.
 	 * 
@@ -1,13 +1,12 @@
 package com.skanderj.lucidityengine.core;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
+import com.skanderj.lucidityengine.Application;
 import com.skanderj.lucidityengine.graphics.transitions.Transition;
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
@@ -28,16 +27,34 @@ import com.skanderj.ts4j.TaskType;
 public final class Engine {
 	// Release name/number
 	public static final String RELEASE = "A0f-r";
+	// How many independent objects of the same priority are needed before their
+	// updates are spread over the worker pool
+	public static final int PARALLEL_UPDATE_THRESHOLD = 64;
 	// No point in initializing the engine multiple times
 	private static boolean isEngineInitialized = false;
 
-	// Main registry for application objects
-	private static final Map<String, ApplicationObject> registry = new HashMap<String, ApplicationObject>();
+	// Main registry for application objects: handles indexed by their dense id,
+	// each one holding its object. Grown on demand, see Engine#handle(String)
+	private static volatile ObjectHandle[] registry = new ObjectHandle[64];
+	private static int handlesCount = 0;
+	// Interned handles by identifier, only used by the String API
+	private static final Map<String, ObjectHandle> handlesMap = new ConcurrentHashMap<String, ObjectHandle>();
 
 	// Scenes map
-	private static final Map<String, Scene> scenesMap = new HashMap<String, Scene>();
+	private static final Map<String, Scene> scenesMap = new ConcurrentHashMap<String, Scene>();
 	// Current active scene being updated & drawn
-	private static Scene currentScene;
+	private static volatile Scene currentScene;
+	// Scene being switched to while its resources load, only accessed while
+	// holding the class' lock
+	private static Scene pendingScene;
+	// Worker pool for the independent objects' updates, see UpdateBand
+	private static final ForkJoinPool updatePool = new ForkJoinPool(
+			Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+	private static volatile boolean parallelUpdateEnabled = true;
+	// Hands the objects to render from the updating thread to the rendering thread
+	private static final SnapshotBuffer snapshots = new SnapshotBuffer();
+	// Objects of the last published snapshot (only used by the updating thread)
+	private static ApplicationObject[] lastPublishedObjects = null;
 
 	/**
 	 * Not instanciable.
@@ -51,162 +68,185 @@ public final class Engine {
 	 *
 	 * @param identifier a unique identifier for the scene
 	 * @param scene      the actual scene
+	 * @return the scene's handle
 	 */
-	public static final void registerScene(final String identifier, final Scene scene) {
-		Engine.registry.put(identifier, scene);
+	public static final synchronized ObjectHandle registerScene(final String identifier, final Scene scene) {
+		final ObjectHandle handle = Engine.handle(identifier);
+		handle.object = scene;
 		Engine.scenesMap.put(identifier, scene);
+		scene.rebuildObjects();
+		return handle;
 	}
 
 	/**
 	 * Switches to a new scene. Does nothing if the provided scene identifier
-	 * matches the current's. Handles transitions if there are any.
+	 * matches the current's. Handles transitions if there are any. The new scene's
+	 * resources (see {@link Scene#prefetchResources()}) start loading right away,
+	 * hidden behind the current scene's out transition if there is one, & the new
+	 * scene is only entered once they're loaded - the calling thread never waits
+	 * for them.
 	 *
 	 * @param newSceneIdentifier the new scene to lookup & enter
 	 */
 	public static final void switchToScene(final String newSceneIdentifier) {
+		final Scene newScene = Engine.scenesMap.get(newSceneIdentifier);
 		// If the identifier matches the current scene's, do nothing
-		if (Engine.currentScene == Engine.scenesMap.get(newSceneIdentifier)) {
+		if (Engine.currentScene == newScene) {
 			return;
 		}
-		if (Engine.currentScene == null) { // If there's no current scene, we can go straight to the in animation of the
-											// new animation
-			Engine.currentScene = Engine.scenesMap.get(newSceneIdentifier);
-			if (Engine.currentScene != null) { // If a scene with the specified identifier exists, do the rest
-				if (Engine.currentScene.inTransition() != null) { // If the new scene has an in animation, play it
-					Engine.setObject("current-scene-in-transition", Engine.currentScene.inTransition()); // Register
-																											// the
-					// transition in
-					// the registry
-					Engine.currentScene.addComponent("current-scene-in-transition"); // Add the transition to the scene
-																						// so it is rendered
-					((Transition) Engine.getObject("current-scene-in-transition")).reset();
-					TaskScheduler.cancelTask("transition", false);
-//					if (TaskScheduler.cancelTask("transition", false)) { // If there's already an
-//																			// transition
-//																			// playing, cancel it and
-//																			// simulate a
-//																			// "natural" finish
-//						Engine.currentScene.removeComponent("current-scene-in-transition");
-//					}
-					// Schedule a task to remove the transition for the objects list & remove it
-					// from the registry for good measure after the transition duration has elapsed
-					TaskScheduler.scheduleTask("transition",
-							new Task(
-									Utilities.framesToMS(Engine.currentScene.inTransition().durationInFrames(),
-											Engine.currentScene.application().getTargetUpdatesPerSecond()),
-									Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
-								@Override
-								public TaskType type() {
-									return TaskType.FIXED_DELAY;
-								}
-
-								@Override
-								public void execute() {
-									// The transition should be done or basically done by now, so remove it for the
-									// scene & from the registry again for good measure
-									Engine.currentScene.removeComponent("current-scene-in-transition");
-								}
-							});
-				} else { // If the new scene doesn't have an in transition, immediately show it
-					Engine.currentScene = Engine.scenesMap.get(newSceneIdentifier);
-				}
-			}
-		} else if (Engine.currentScene != null) { // 2nd case: if there's currently a scene active
-			if (Engine.currentScene.outTransition() != null) { // If the current active scene has an out transition, add
-																// the
-				// transition to the scene objects & to the registry of course
-				Engine.setObject("current-scene-out-transition", Engine.currentScene.outTransition());
-				Engine.currentScene.addComponent("current-scene-out-transition");
-				((Transition) Engine.getObject("current-scene-out-transition")).reset();
-				TaskScheduler.cancelTask("transition", false);
-//				if (TaskScheduler.cancelTask("transition", false)) { // If there's already an transition
-//					// playing, cancel it and simulate a
-//					// "natural" finish
-//					Engine.currentScene.removeComponent("current-scene-out-transition");
-//				}
-				TaskScheduler.scheduleTask("transition",
-						new Task(
-								Utilities.framesToMS(Engine.currentScene.outTransition().durationInFrames(),
-										Engine.currentScene.application().getTargetUpdatesPerSecond()),
-								Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
-							@Override
-							public TaskType type() {
-								return TaskType.FIXED_DELAY;
-							}
-
-							@Override
-							public void execute() {
-								Engine.currentScene.removeComponent("current-scene-out-transition");
-								Engine.currentScene = Engine.scenesMap.get(newSceneIdentifier); // Set the new scene
-								if (Engine.currentScene.inTransition() != null) { // If the new scene has an in
-																					// transition,
-									// play it in the exact same manner as above
-									// (should be refactorable but this is a
-									// pain in the ass right now)
-									Engine.setObject("current-scene-in-transition", Engine.currentScene.inTransition());
-									Engine.currentScene.addComponent("current-scene-in-transition");
-									((Transition) Engine.getObject("current-scene-in-transition")).reset();
-									TaskScheduler.cancelTask("transition", false);
-									TaskScheduler.scheduleTask("transition",
-											new Task(
-													Utilities.framesToMS(
-															Engine.currentScene.inTransition().durationInFrames(),
-															Engine.currentScene.application()
-																	.getTargetUpdatesPerSecond()),
-													Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
-												@Override
-												public TaskType type() {
-													return TaskType.FIXED_DELAY;
-												}
-
-												@Override
-												public void execute() {
-													// The transition should be done or basically done by now, so remove
-													// it for the
-													// scene & from the registry again for good measure
-													Engine.currentScene.removeComponent("current-scene-in-transition");
-												}
-											});
-								}
-							}
-						});
-			} else { // If the previous scene doesn't have an out transition, immediately change to
-						// the new scene
-				Engine.currentScene = Engine.scenesMap.get(newSceneIdentifier);
-				if (Engine.currentScene.inTransition() != null) { // If the new scene has an in animation, play it
-					Engine.setObject("current-scene-in-transition", Engine.currentScene.inTransition());
-					((Transition) Engine.getObject("current-scene-in-transition")).reset();
-					Engine.currentScene.addComponent("current-scene-in-transition");
-					TaskScheduler.cancelTask("transition", false);
-//					if (TaskScheduler.cancelTask("transition", false)) { // If there's already an
-//																						// transition
-//						// playing, cancel it and simulate a
-//						// "natural" finish
-//						Engine.currentScene.removeComponent("current-scene-out-transition");
-//					}
-					TaskScheduler.scheduleTask("transition",
-							new Task(
-									Utilities.framesToMS(Engine.currentScene.inTransition().durationInFrames(),
-											Engine.currentScene.application().getTargetUpdatesPerSecond()),
-									Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
-								@Override
-								public TaskType type() {
-									return TaskType.FIXED_DELAY;
-								}
-
-								@Override
-								public void execute() {
-									// The transition should be done or basically done by now, so remove
-									// it for the
-									// scene & from the registry again for good measure
-									Engine.currentScene.removeComponent("current-scene-in-transition");
-								}
-							});
-				} else { // If the new scene doesn't have an in transition, immediately show it
-					Engine.currentScene = Engine.scenesMap.get(newSceneIdentifier);
+		if (newScene == null) {
+			Logger.log(Engine.class, LogLevel.SEVERE, "Could not find scene with identifier '%s'", newSceneIdentifier);
+			return;
+		}
+		Engine.setPendingScene(newScene);
+		final Scene scene = Engine.currentScene;
+		if ((scene == null) || (scene.outTransition() == null)) { // No out transition to play, go straight to the
+																	// new scene once it's loaded
+			Engine.enterWhenLoaded(newScene);
+			return;
+		}
+		// If the current active scene has an out transition, add the transition to the
+		// scene objects & to the registry of course
+		Engine.setObject("current-scene-out-transition", scene.outTransition());
+		scene.addComponent("current-scene-out-transition");
+		((Transition) Engine.getObject("current-scene-out-transition")).reset();
+		TaskScheduler.cancelTask("transition", false);
+		TaskScheduler.scheduleTask("transition",
+				new Task(
+						Utilities.framesToMS(scene.outTransition().durationInFrames(),
+								scene.application().getTargetUpdatesPerSecond()),
+						Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
+					@Override
+					public TaskType type() {
+						return TaskType.FIXED_DELAY;
+					}
+
+					@Override
+					public void execute() {
+						scene.removeComponent("current-scene-out-transition");
+						Engine.enterWhenLoaded(newScene);
+					}
+				});
+	}
+
+	/**
+	 * Used internally to remember which scene is being switched to. The previous
+	 * pending scene's prefetch is cancelled if it's replaced before being entered.
+	 */
+	private static final synchronized void setPendingScene(final Scene scene) {
+		final Scene previousScene = Engine.pendingScene;
+		Engine.pendingScene = scene;
+		if ((previousScene != null) && (previousScene != scene) && (previousScene != Engine.currentScene)) {
+			previousScene.cancelPrefetch();
+		}
+		scene.prefetchResources();
+	}
+
+	/**
+	 * Used internally to enter a scene once its resources are loaded, from
+	 * whichever thread completes the loading. Does nothing if another switch was
+	 * requested in the meantime.
+	 */
+	private static final void enterWhenLoaded(final Scene scene) {
+		scene.prefetchResources().whenComplete((result, exception) -> {
+			synchronized (Engine.class) {
+				if (Engine.pendingScene != scene) {
+					return;
 				}
+				Engine.pendingScene = null;
+				Engine.enterScene(scene);
 			}
+		});
+	}
+
+	/**
+	 * Used internally to make a scene the current one, release the previous
+	 * scene's resources & play the new scene's in transition if there is one.
+	 */
+	private static final void enterScene(final Scene scene) {
+		final Scene previousScene = Engine.currentScene;
+		Engine.currentScene = scene;
+		if ((previousScene != null) && (previousScene != scene)) {
+			previousScene.releaseResources();
 		}
+		if (scene.inTransition() == null) { // If the new scene doesn't have an in transition, it's already shown
+			return;
+		}
+		// Register the transition in the registry & add it to the scene so it is
+		// rendered
+		Engine.setObject("current-scene-in-transition", scene.inTransition());
+		scene.addComponent("current-scene-in-transition");
+		((Transition) Engine.getObject("current-scene-in-transition")).reset();
+		TaskScheduler.cancelTask("transition", false);
+		// Schedule a task to remove the transition for the objects list after the
+		// transition duration has elapsed
+		TaskScheduler.scheduleTask("transition",
+				new Task(
+						Utilities.framesToMS(scene.inTransition().durationInFrames(),
+								scene.application().getTargetUpdatesPerSecond()),
+						Task.NO_REPEATS, TimeUnit.MILLISECONDS) {
+					@Override
+					public TaskType type() {
+						return TaskType.FIXED_DELAY;
+					}
+
+					@Override
+					public void execute() {
+						// The transition should be done or basically done by now, so remove it for the
+						// scene
+						scene.removeComponent("current-scene-in-transition");
+					}
+				});
+	}
+
+	/**
+	 * Returns the handle interned for the provided identifier, creating it if
+	 * needed. Nothing has to be registered under the identifier yet.
+	 *
+	 * @param identifier the object's unique identifier
+	 * @return the one & only handle for this identifier
+	 */
+	public static final ObjectHandle handle(final String identifier) {
+		final ObjectHandle handle = Engine.handlesMap.get(identifier);
+		if (handle != null) {
+			return handle;
+		}
+		return Engine.createHandle(identifier);
+	}
+
+	/**
+	 * Self explanatory.
+	 *
+	 * @param id a handle's dense id
+	 * @return the handle or <code>null</code> if no handle has this id
+	 */
+	public static final ObjectHandle handle(final int id) {
+		final ObjectHandle[] handles = Engine.registry;
+		if ((id < 0) || (id >= handles.length)) {
+			return null;
+		}
+		return handles[id];
+	}
+
+	/**
+	 * Used internally to intern a new handle & grow the registry if needed.
+	 */
+	private static final synchronized ObjectHandle createHandle(final String identifier) {
+		final ObjectHandle existingHandle = Engine.handlesMap.get(identifier);
+		if (existingHandle != null) {
+			return existingHandle;
+		}
+		ObjectHandle[] handles = Engine.registry;
+		if (Engine.handlesCount == handles.length) {
+			handles = Arrays.copyOf(handles, handles.length * 2);
+		}
+		final ObjectHandle handle = new ObjectHandle(Engine.handlesCount, identifier);
+		handles[Engine.handlesCount] = handle;
+		Engine.handlesCount += 1;
+		// Volatile write, publishes the new slot to the other threads
+		Engine.registry = handles;
+		Engine.handlesMap.put(identifier, handle);
+		return handle;
 	}
 
 	/**
@@ -214,19 +254,29 @@ public final class Engine {
 	 *
 	 * @param identifier an unique identifier for the object
 	 * @param object     the actual application object
+	 * @return the object's handle, see {@link ObjectHandle}
 	 */
-	public static final void setObject(final String identifier, final ApplicationObject object) {
+	public static final synchronized ObjectHandle setObject(final String identifier,
+			final ApplicationObject object) {
 		String name;
 		if (object instanceof ApplicationObject) {
 			name = "InnerApplicationObject";
 		} else {
 			name = object.getClass().getSimpleName();
 		}
-		Engine.registry.put(identifier, object);
+		final ObjectHandle handle = Engine.handle(identifier);
+		final ApplicationObject previous = handle.object;
+		handle.object = object;
+		for (final Scene scene : Engine.scenesMap.values()) {
+			if (scene.sceneObjectsIdentifiers().contains(identifier)) {
+				scene.replaceObject(previous, object);
+			}
+		}
 		Logger.log(Engine.class, LogLevel.INFO, "Added to registry: '%s' <- <class : %s>", identifier,
 				object.getClass().getSimpleName().equals("")
 						? object.getClass().getEnclosingClass().getSimpleName() + "#" + name
 						: object.getClass().getSimpleName());
+		return handle;
 	}
 
 	/**
@@ -234,8 +284,16 @@ public final class Engine {
 	 *
 	 * @param identifier the identifier of the object to unregister
 	 */
-	public static final void unsetObject(final String identifier) {
-		if (Engine.registry.remove(identifier) != null) {
+	public static final synchronized void unsetObject(final String identifier) {
+		final ObjectHandle handle = Engine.handlesMap.get(identifier);
+		final ApplicationObject previous = handle == null ? null : handle.object;
+		if (previous != null) {
+			handle.object = null;
+			for (final Scene scene : Engine.scenesMap.values()) {
+				if (scene.sceneObjectsIdentifiers().contains(identifier)) {
+					scene.removeObject(previous);
+				}
+			}
 			Logger.log(Engine.class, LogLevel.INFO, "Removed from registry: '%s'", identifier);
 		}
 	}
@@ -247,17 +305,33 @@ public final class Engine {
 	 * @return the object if present or <code>null</code>
 	 */
 	public static final ApplicationObject getObject(final String identifier) {
-		return Engine.registry.get(identifier);
+		final ObjectHandle handle = Engine.handlesMap.get(identifier);
+		return handle == null ? null : handle.object;
+	}
+
+	/**
+	 * Self explanatory. No hashing involved, prefer it over
+	 * {@link Engine#getObject(String)} in code running every frame.
+	 *
+	 * @param handle the target object's handle
+	 * @return the object if present or <code>null</code>
+	 */
+	public static final ApplicationObject getObject(final ObjectHandle handle) {
+		return handle.object;
 	}
 
 	/**
 	 * Updates the current scene if it's not <code>null</code>. Calls
-	 * {@link Scene#update()}.
+	 * {@link Scene#update()} then publishes the scene's objects for the rendering
+	 * thread. The scene published is the one which was updated, even if another
+	 * one was switched to in the meantime.
 	 */
 	public static final void updateScene() {
-		if (Engine.currentScene != null) {
-			Engine.currentScene.update();
+		final Scene scene = Engine.currentScene;
+		if (scene != null) {
+			scene.update();
 		}
+		Engine.publishSnapshot(scene);
 	}
 
 	/**
@@ -265,45 +339,95 @@ public final class Engine {
 	 * {@link Scene#render()}.
 	 */
 	public static final void renderScene() {
-		if (Engine.currentScene != null) {
-			Engine.currentScene.render();
+		Engine.renderScene(1.0D);
+	}
+
+	/**
+	 * Renders the latest scene published by the updating thread if it's not
+	 * <code>null</code> with the provided interpolation factor. Calls
+	 * {@link Scene#render(double)}.
+	 *
+	 * @param alpha see {@link ApplicationObject#render(double)}
+	 */
+	public static final void renderScene(final double alpha) {
+		final Scene scene = Engine.snapshots.acquire().scene();
+		if (scene != null) {
+			scene.render(alpha);
 		}
 	}
 
 	/**
-	 * Used internally to update the objects after sorting them by priority. Called
-	 * by {@link Scene#update()}.
+	 * Renders the latest scene published by the updating thread if it's not
+	 * <code>null</code>, interpolated for the point in time its update reached
+	 * (see {@link Application#interpolation()}).
+	 *
+	 * @param application the application rendering
 	 */
-	protected static final void updateObjects() {
-		final Set<String> identifiersToUpdate = Engine.currentScene.sceneObjectsIdentifiers();
-		final List<ApplicationObject> objects = new ArrayList<ApplicationObject>();
-		for (final String identifier : Engine.registry.keySet()) {
-			if (identifiersToUpdate.contains(identifier)) {
-				objects.add(Engine.registry.get(identifier));
-			}
+	public static final void renderScene(final Application application) {
+		final Scene scene = Engine.snapshots.acquire().scene();
+		if (scene != null) {
+			scene.render(application.interpolation());
 		}
-		Collections.sort(objects);
-		for (final ApplicationObject object : objects) {
-			object.update();
+	}
+
+	/**
+	 * Only meaningful on the rendering thread.
+	 *
+	 * @return the point in time (System.nanoTime()) reached by the update the
+	 *         scene being rendered was published after
+	 */
+	public static final long renderedSimulationTime() {
+		return Engine.snapshots.front().simulationTime();
+	}
+
+	/**
+	 * Used internally to update the objects, already grouped by priority by the
+	 * scene. Priorities are updated one after the other, independent objects of
+	 * the same priority may be updated in parallel. Called by
+	 * {@link Scene#update()}.
+	 *
+	 * @param scene the scene being updated, not re-read from the current scene so
+	 *              a switch in the middle of the tick can't mix both
+	 */
+	protected static final void updateObjects(final Scene scene) {
+		final UpdateBand[] bands = scene.updateBands();
+		for (int index = 0; index < bands.length; index += 1) {
+			bands[index].update();
 		}
 	}
 
 	/**
-	 * Used internally to render the objects after sorting them by priority. Called
-	 * by {@link Scene#render()}.
+	 * Used internally to render the objects of the latest published snapshot,
+	 * already sorted by priority, with the render states they captured. Called by
+	 * {@link Scene#render(double)}. Never touches the registry so it can't race
+	 * with the updating thread.
 	 */
-	protected static final void renderObjects() {
-		final Set<String> identifiersToUpdate = Engine.currentScene.sceneObjectsIdentifiers();
-		final List<ApplicationObject> objects = new ArrayList<ApplicationObject>();
-		for (final String identifier : Engine.registry.keySet()) {
-			if (identifiersToUpdate.contains(identifier)) {
-				objects.add(Engine.registry.get(identifier));
-			}
+	protected static final void renderObjects(final double alpha) {
+		final SceneSnapshot snapshot = Engine.snapshots.front();
+		final ApplicationObject[] objects = snapshot.objects();
+		final Object[] states = snapshot.states();
+		for (int index = 0; index < objects.length; index += 1) {
+			objects[index].render(alpha, states[index]);
 		}
-		Collections.sort(objects);
-		for (final ApplicationObject object : objects) {
-			object.render();
+	}
+
+	/**
+	 * Used internally at the end of every update to capture the scene's objects,
+	 * sorted by priority, their render states & the simulation time, & hand them
+	 * to the rendering thread.
+	 *
+	 * @param scene the scene to capture, may be <code>null</code>
+	 */
+	private static final void publishSnapshot(final Scene scene) {
+		final SceneSnapshot snapshot = Engine.snapshots.back();
+		snapshot.set(scene);
+		// A different scene or a different set of objects means the whole screen
+		// has to be redrawn
+		if ((scene != null) && (snapshot.objects() != Engine.lastPublishedObjects)) {
+			scene.application().screen().invalidate();
 		}
+		Engine.lastPublishedObjects = snapshot.objects();
+		Engine.snapshots.publish();
 	}
 
 	/**
@@ -324,6 +448,27 @@ public final class Engine {
 		return Engine.isEngineInitialized;
 	}
 
+	/**
+	 * Enables or disables updating independent objects on the worker pool.
+	 */
+	public static final void setParallelUpdateEnabled(final boolean enabled) {
+		Engine.parallelUpdateEnabled = enabled;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static final boolean isParallelUpdateEnabled() {
+		return Engine.parallelUpdateEnabled;
+	}
+
+	/**
+	 * Used internally by {@link UpdateBand}.
+	 */
+	static final ForkJoinPool updatePool() {
+		return Engine.updatePool;
+	}
+
 	/**
 	 * @return the current scene
 	 */
@@ -0,0 +1,61 @@
+package com.skanderj.lucidityengine.core;
+
+/**
+ *
+ * An interned reference to a registry entry. There's exactly one handle per
+ * identifier (see {@link Engine#handle(String)}) & each one gets a dense
+ * integer id. Resolving a handle is a plain field read: keep handles around
+ * instead of identifiers in anything that runs every frame.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class ObjectHandle {
+	// Dense id, also the handle's index in the engine's registry
+	private final int id;
+	// The identifier this handle was interned for
+	private final String identifier;
+	// Registry slot, null while nothing is registered under the identifier
+	volatile ApplicationObject object;
+
+	/**
+	 * Only created by the engine.
+	 */
+	ObjectHandle(final int id, final String identifier) {
+		this.id = id;
+		this.identifier = identifier;
+		this.object = null;
+	}
+
+	/**
+	 * Self explanatory.
+	 *
+	 * @return the handle's dense id
+	 */
+	public int id() {
+		return this.id;
+	}
+
+	/**
+	 * Self explanatory.
+	 *
+	 * @return the identifier the handle was interned for
+	 */
+	public String identifier() {
+		return this.identifier;
+	}
+
+	/**
+	 * Self explanatory.
+	 *
+	 * @return the registered object or <code>null</code>
+	 */
+	public ApplicationObject get() {
+		return this.object;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ObjectHandle (params: id=%d, identifier=%s)", this.id, this.identifier);
+	}
+}
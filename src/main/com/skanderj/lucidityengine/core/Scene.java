@@ -1,13 +1,19 @@
 package com.skanderj.lucidityengine.core;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.skanderj.lucidityengine.Application;
 import com.skanderj.lucidityengine.graphics.transitions.Transition;
 import com.skanderj.lucidityengine.input.binds.Binds;
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.ResourceLoader;
+import com.skanderj.lucidityengine.resources.ResourceManager;
 
 /**
  * 
@@ -19,10 +25,24 @@ import com.skanderj.lucidityengine.logging.Logger.LogLevel;
  *
  */
 public abstract class Scene extends ApplicationObject {
-	// List of objects' identiifers to be updated & rendered
+	// List of objects' identiifers to be updated & rendered, transitions are added
+	// & removed from the task scheduler's threads
 	private final Set<String> sceneObjectsIdentifiers;
+	// The registered objects behind those identifiers, sorted by priority (objects
+	// of the same priority keep their insertion order). Replaced as a whole
+	// whenever the scene changes so the updating & rendering threads can read it
+	// without any lock, allocation or sorting
+	private volatile ApplicationObject[] sortedObjects;
+	// The same objects grouped by priority for the update phase
+	private volatile UpdateBand[] updateBands;
 	// Optional transitions
 	private Transition inTransition, outTransition;
+	// Identifiers of the managed resources pinned while this scene is active
+	private final Set<String> requiredResources;
+	// Pending or done acquisition of the required resources & the resources it
+	// pinned, null when released
+	private CompletableFuture<Void> resourcesAcquisition;
+	private String[] acquiredResources;
 
 	/**
 	 * Keep a copy of the mother application & initialize the transitions to
@@ -32,8 +52,12 @@ public abstract class Scene extends ApplicationObject {
 	 */
 	public Scene(final Application application) {
 		super(application);
-		this.sceneObjectsIdentifiers = new HashSet<String>();
+		this.sceneObjectsIdentifiers = ConcurrentHashMap.newKeySet();
+		this.setSortedObjects(new ApplicationObject[0]);
 		this.inTransition = this.outTransition = null;
+		this.requiredResources = ConcurrentHashMap.newKeySet();
+		this.resourcesAcquisition = null;
+		this.acquiredResources = null;
 	}
 
 	public abstract void enter();
@@ -57,40 +81,191 @@ public abstract class Scene extends ApplicationObject {
 
 	/**
 	 * Adds a single object identifier to be updated & rendered in this scene.
+	 * Holds the registry's lock so the object can't be replaced between being
+	 * looked up & inserted (see {@link Engine#setObject(String, ApplicationObject)}).
 	 * 
 	 * @param identifier the object's identifier
 	 */
 	public final void addComponent(final String identifier) {
-		this.sceneObjectsIdentifiers.add(identifier);
+		synchronized (Engine.class) {
+			synchronized (this) {
+				if (this.sceneObjectsIdentifiers.add(identifier)) {
+					this.insertObject(Engine.getObject(identifier));
+				}
+			}
+		}
 		Logger.log(Scene.class, LogLevel.DEBUG, "Object '%s' has been added to the scene!", identifier);
 	}
 
 	/**
-	 * Removes a single object identifier from this scene.
+	 * Adds a single object to be updated & rendered in this scene.
+	 * 
+	 * @param handle the object's handle
+	 */
+	public final void addComponent(final ObjectHandle handle) {
+		this.addComponent(handle.identifier());
+	}
+
+	/**
+	 * Removes a single object from this scene.
+	 * 
+	 * @param handle the object's handle
+	 */
+	public final boolean removeComponent(final ObjectHandle handle) {
+		return this.removeComponent(handle.identifier());
+	}
+
+	/**
+	 * Removes a single object identifier from this scene. Holds the registry's
+	 * lock, same as {@link Scene#addComponent(String)}.
 	 * 
 	 * @param identifier the object's identifier
 	 */
 	public final boolean removeComponent(final String identifier) {
 		Logger.log(Scene.class, LogLevel.DEBUG, "Object '%s' has been removed from the scene!", identifier);
-		return this.sceneObjectsIdentifiers.remove(identifier);
+		synchronized (Engine.class) {
+			synchronized (this) {
+				if (this.sceneObjectsIdentifiers.remove(identifier)) {
+					this.removeObject(Engine.getObject(identifier));
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Used internally to insert an object at the end of its priority bucket. The
+	 * object's priority is only read once, here.
+	 * 
+	 * @param object the object to insert, ignored if <code>null</code>
+	 */
+	final synchronized void insertObject(final ApplicationObject object) {
+		if (object == null) {
+			return;
+		}
+		final ApplicationObject[] objects = this.sortedObjects;
+		int low = 0, high = objects.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (objects[middle].compareTo(object) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		final ApplicationObject[] newObjects = new ApplicationObject[objects.length + 1];
+		System.arraycopy(objects, 0, newObjects, 0, low);
+		newObjects[low] = object;
+		System.arraycopy(objects, low, newObjects, low + 1, objects.length - low);
+		this.setSortedObjects(newObjects);
+	}
+
+	/**
+	 * Used internally to remove a single occurrence of an object.
+	 * 
+	 * @param object the object to remove, ignored if <code>null</code>
+	 */
+	final synchronized void removeObject(final ApplicationObject object) {
+		if (object == null) {
+			return;
+		}
+		final ApplicationObject[] objects = this.sortedObjects;
+		for (int index = 0; index < objects.length; index += 1) {
+			if (objects[index] == object) {
+				final ApplicationObject[] newObjects = new ApplicationObject[objects.length - 1];
+				System.arraycopy(objects, 0, newObjects, 0, index);
+				System.arraycopy(objects, index + 1, newObjects, index, objects.length - index - 1);
+				this.setSortedObjects(newObjects);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Used internally when an object is registered over another one with the same
+	 * identifier.
+	 * 
+	 * @param previous the object to remove, may be <code>null</code>
+	 * @param object   the object to insert, may be <code>null</code>
+	 */
+	final synchronized void replaceObject(final ApplicationObject previous, final ApplicationObject object) {
+		this.removeObject(previous);
+		this.insertObject(object);
+	}
+
+	/**
+	 * Used internally to replace the sorted objects & group them by priority.
+	 * 
+	 * @param objects the new sorted objects
+	 */
+	private final void setSortedObjects(final ApplicationObject[] objects) {
+		final List<UpdateBand> bands = new ArrayList<UpdateBand>();
+		int bandStart = 0;
+		for (int index = 1; index <= objects.length; index += 1) {
+			if ((index == objects.length) || (objects[index].compareTo(objects[bandStart]) != 0)) {
+				final List<ApplicationObject> sequentialObjects = new ArrayList<ApplicationObject>();
+				final List<ApplicationObject> independentObjects = new ArrayList<ApplicationObject>();
+				for (int bandIndex = bandStart; bandIndex < index; bandIndex += 1) {
+					if (objects[bandIndex].isUpdateIndependent()) {
+						independentObjects.add(objects[bandIndex]);
+					} else {
+						sequentialObjects.add(objects[bandIndex]);
+					}
+				}
+				bands.add(new UpdateBand(sequentialObjects.toArray(new ApplicationObject[sequentialObjects.size()]),
+						independentObjects.toArray(new ApplicationObject[independentObjects.size()])));
+				bandStart = index;
+			}
+		}
+		this.updateBands = bands.toArray(new UpdateBand[bands.size()]);
+		this.sortedObjects = objects;
+	}
+
+	/**
+	 * Used internally to resolve every identifier again, for example when the
+	 * scene gets registered after some of its objects.
+	 */
+	final synchronized void rebuildObjects() {
+		final ApplicationObject[] objects = new ApplicationObject[this.sceneObjectsIdentifiers.size()];
+		int count = 0;
+		for (final String identifier : this.sceneObjectsIdentifiers) {
+			final ApplicationObject object = Engine.getObject(identifier);
+			if ((object != null) && (count < objects.length)) {
+				objects[count++] = object;
+			}
+		}
+		final ApplicationObject[] newObjects = Arrays.copyOf(objects, count);
+		Arrays.sort(newObjects);
+		this.setSortedObjects(newObjects);
 	}
 
 	/**
-	 * Updates the scene's logic. Calls {@link Engine#updateObjects()} &
-	 * {@link Binds#update(Application)}.
+	 * Updates the scene's logic. Calls {@link Engine#updateObjects(Scene)} &
+	 * {@link Binds#update(Application, Scene)} for this scene, even if another one
+	 * is switched to in the meantime.
 	 */
 	@Override
 	public final void update() {
-		Engine.updateObjects();
-		Binds.update(this.application);
+		Engine.updateObjects(this);
+		Binds.update(this.application, this);
 	}
 
 	/**
-	 * Renders the scene. Calls {@link Engine#renderObjects()}.
+	 * Renders the scene. Calls {@link Engine#renderObjects(double)}.
 	 */
 	@Override
 	public final void render() {
-		Engine.renderObjects();
+		this.render(1.0D);
+	}
+
+	/**
+	 * Renders the scene with the provided interpolation factor. Calls
+	 * {@link Engine#renderObjects(double)}.
+	 */
+	@Override
+	public final void render(final double alpha) {
+		Engine.renderObjects(alpha);
 	}
 
 	/**
@@ -108,6 +283,101 @@ public abstract class Scene extends ApplicationObject {
 		return this.sceneObjectsIdentifiers;
 	}
 
+	/**
+	 * @return the scene's objects grouped by priority, in update order
+	 */
+	final UpdateBand[] updateBands() {
+		return this.updateBands;
+	}
+
+	/**
+	 * @return the scene's objects sorted by priority, must not be modified
+	 */
+	final ApplicationObject[] sortedObjects() {
+		return this.sortedObjects;
+	}
+
+	/**
+	 * Declares managed resources (see {@link ResourceManager}) needed by this
+	 * scene: they're loaded & pinned when the scene becomes active & released
+	 * when it's left. Returns this {@link Scene} object for easy declaration.
+	 * 
+	 * @param identifiers the resources' identifiers
+	 * @return this same scene object
+	 */
+	public final Scene requireResources(final String... identifiers) {
+		for (final String identifier : identifiers) {
+			this.requiredResources.add(identifier);
+		}
+		return this;
+	}
+
+	/**
+	 * @return the identifiers of the resources required by this scene
+	 */
+	public final Set<String> requiredResources() {
+		return this.requiredResources;
+	}
+
+	/**
+	 * Starts pinning the required resources in the background (see
+	 * {@link ResourceLoader#acquire(String)}) if it isn't done already. Used by
+	 * the engine as soon as a switch to this scene is requested so that loading
+	 * happens during the previous scene's out transition. The resources stay
+	 * pinned until the scene is left or {@link Scene#cancelPrefetch()} is called.
+	 * 
+	 * @return a future completed once every required resource is resident
+	 */
+	public final synchronized CompletableFuture<Void> prefetchResources() {
+		if (this.resourcesAcquisition == null) {
+			final List<CompletableFuture<Boolean>> acquisitions = new ArrayList<>();
+			this.acquiredResources = this.requiredResources.toArray(new String[0]);
+			for (final String identifier : this.acquiredResources) {
+				acquisitions.add(ResourceLoader.acquire(identifier));
+			}
+			this.resourcesAcquisition = CompletableFuture
+					.allOf(acquisitions.toArray(new CompletableFuture<?>[acquisitions.size()]));
+		}
+		return this.resourcesAcquisition;
+	}
+
+	/**
+	 * Releases the resources pinned by {@link Scene#prefetchResources()} if the
+	 * scene isn't going to be entered after all. Does nothing if the scene is the
+	 * current one or wasn't prefetched. Called by the engine when a pending switch
+	 * to this scene is replaced by another one.
+	 */
+	public final void cancelPrefetch() {
+		if (Engine.currentScene() == this) {
+			return;
+		}
+		this.releaseResources();
+	}
+
+	/**
+	 * Used internally when the scene stops being active. Never waits: resources
+	 * still loading are released once they're loaded.
+	 */
+	final void releaseResources() {
+		final CompletableFuture<Void> acquisition;
+		final String[] resources;
+		synchronized (this) {
+			acquisition = this.resourcesAcquisition;
+			resources = this.acquiredResources;
+			this.resourcesAcquisition = null;
+			this.acquiredResources = null;
+		}
+		if (acquisition == null) {
+			return;
+		}
+		// Every acquisition has to be done before it can be released
+		acquisition.whenComplete((result, exception) -> {
+			for (final String identifier : resources) {
+				ResourceManager.release(identifier);
+			}
+		});
+	}
+
 	/**
 	 * @return the entering transition for this scene
 	 */
@@ -0,0 +1,90 @@
+package com.skanderj.lucidityengine.core;
+
+/**
+ *
+ * The objects of a scene as they were at the end of an update. Filled by the
+ * updating thread, read by the rendering thread, never both at the same time
+ * (see {@link SnapshotBuffer}). References the scene's sorted array, which is
+ * never modified in place, & holds the render state captured by every object
+ * (see {@link ApplicationObject#captureRenderState(Object)}). States are reused
+ * from one publication of the snapshot to the next as long as the objects don't
+ * change.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class SceneSnapshot {
+	// Shared by every empty snapshot
+	private static final ApplicationObject[] NO_OBJECTS = new ApplicationObject[0];
+	private static final Object[] NO_STATES = new Object[0];
+
+	// Scene the objects were taken from, null if there was no active scene
+	private Scene scene;
+	// Objects sorted by priority
+	private ApplicationObject[] objects;
+	// Render states of the objects, same order
+	private Object[] states;
+	// Point in time reached by the update the snapshot was taken after
+	private long simulationTime;
+	// Whether it has been published since the rendering thread last took it, only
+	// written by the thread owning the snapshot (see SnapshotBuffer)
+	boolean fresh;
+
+	/**
+	 * Creates an empty snapshot.
+	 */
+	SceneSnapshot() {
+		this.scene = null;
+		this.objects = SceneSnapshot.NO_OBJECTS;
+		this.states = SceneSnapshot.NO_STATES;
+		this.simulationTime = 0;
+		this.fresh = false;
+	}
+
+	/**
+	 * Captures the provided scene.
+	 *
+	 * @param scene the scene to capture, may be <code>null</code>
+	 */
+	final void set(final Scene scene) {
+		final ApplicationObject[] objects = scene == null ? SceneSnapshot.NO_OBJECTS : scene.sortedObjects();
+		if (objects != this.objects) {
+			this.states = objects.length == 0 ? SceneSnapshot.NO_STATES : new Object[objects.length];
+		}
+		this.scene = scene;
+		this.objects = objects;
+		for (int index = 0; index < objects.length; index += 1) {
+			this.states[index] = objects[index].captureRenderState(this.states[index]);
+		}
+		this.simulationTime = scene == null ? 0 : scene.application().simulationTime();
+	}
+
+	/**
+	 * @return the captured scene or <code>null</code>
+	 */
+	final Scene scene() {
+		return this.scene;
+	}
+
+	/**
+	 * @return the captured objects sorted by priority, must not be modified
+	 */
+	final ApplicationObject[] objects() {
+		return this.objects;
+	}
+
+	/**
+	 * @return the captured render states, same order as the objects
+	 */
+	final Object[] states() {
+		return this.states;
+	}
+
+	/**
+	 * @return the point in time (System.nanoTime()) reached by the update the
+	 *         snapshot was taken after
+	 */
+	final long simulationTime() {
+		return this.simulationTime;
+	}
+}
@@ -0,0 +1,73 @@
+package com.skanderj.lucidityengine.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *
+ * Triple buffer used to hand {@link SceneSnapshot}s from the updating thread to
+ * the rendering thread without any lock. The updating thread owns the back
+ * snapshot, the rendering thread owns the front one & the latest published one
+ * waits in between. Swaps go through a single atomic reference so neither
+ * thread ever blocks the other or sees a half written snapshot.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class SnapshotBuffer {
+	// Only touched by the updating thread
+	private SceneSnapshot back;
+	// Latest published snapshot, exchanged by both threads
+	private final AtomicReference<SceneSnapshot> pending;
+	// Only touched by the rendering thread
+	private SceneSnapshot front;
+
+	/**
+	 * Creates three empty snapshots.
+	 */
+	SnapshotBuffer() {
+		this.back = new SceneSnapshot();
+		this.pending = new AtomicReference<SceneSnapshot>(new SceneSnapshot());
+		this.front = new SceneSnapshot();
+	}
+
+	/**
+	 * Used by the updating thread.
+	 *
+	 * @return the snapshot to fill before calling {@link SnapshotBuffer#publish()}
+	 */
+	final SceneSnapshot back() {
+		return this.back;
+	}
+
+	/**
+	 * Used by the updating thread. Makes the back snapshot the latest one & takes
+	 * the previous pending snapshot as the new back snapshot.
+	 */
+	final void publish() {
+		this.back.fresh = true;
+		this.back = this.pending.getAndSet(this.back);
+	}
+
+	/**
+	 * Used by the rendering thread. Takes the latest published snapshot if there's
+	 * a new one, otherwise keeps the current front snapshot.
+	 *
+	 * @return the snapshot to render
+	 */
+	final SceneSnapshot acquire() {
+		if (this.pending.get().fresh) {
+			this.front = this.pending.getAndSet(this.front);
+			this.front.fresh = false;
+		}
+		return this.front;
+	}
+
+	/**
+	 * Used by the rendering thread.
+	 *
+	 * @return the last acquired snapshot
+	 */
+	final SceneSnapshot front() {
+		return this.front;
+	}
+}
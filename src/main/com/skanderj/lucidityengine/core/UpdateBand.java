@@ -0,0 +1,90 @@
+package com.skanderj.lucidityengine.core;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *
+ * All the objects of a scene sharing the same priority, split between the ones
+ * that must be updated on the updating thread & the independent ones (see
+ * {@link ApplicationObject#isUpdateIndependent()}) which can be spread over the
+ * engine's worker pool. Bands are updated one after the other so priority
+ * ordering is preserved across bands.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class UpdateBand {
+	// How many independent objects a single worker task updates at most
+	private static final int OBJECTS_PER_TASK = 16;
+
+	// Objects updated in order on the updating thread
+	private final ApplicationObject[] sequentialObjects;
+	// Objects that can be updated in any order on any thread
+	private final ApplicationObject[] independentObjects;
+
+	/**
+	 * Basic constructor.
+	 */
+	UpdateBand(final ApplicationObject[] sequentialObjects, final ApplicationObject[] independentObjects) {
+		this.sequentialObjects = sequentialObjects;
+		this.independentObjects = independentObjects;
+	}
+
+	/**
+	 * Updates every object of the band & returns once they're all done. Independent
+	 * objects only go to the worker pool if there are enough of them to be worth
+	 * it.
+	 */
+	final void update() {
+		ForkJoinTask<?> task = null;
+		if (Engine.isParallelUpdateEnabled()
+				&& (this.independentObjects.length >= Engine.PARALLEL_UPDATE_THRESHOLD)) {
+			task = Engine.updatePool()
+					.submit(new IndependentUpdate(this.independentObjects, 0, this.independentObjects.length));
+		} else {
+			for (int index = 0; index < this.independentObjects.length; index += 1) {
+				this.independentObjects[index].update();
+			}
+		}
+		for (int index = 0; index < this.sequentialObjects.length; index += 1) {
+			this.sequentialObjects[index].update();
+		}
+		if (task != null) {
+			task.join();
+		}
+	}
+
+	/**
+	 * Splits a range of independent objects until it's small enough to be updated
+	 * by a single worker.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class IndependentUpdate extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ApplicationObject[] objects;
+		private final int start, end;
+
+		private IndependentUpdate(final ApplicationObject[] objects, final int start, final int end) {
+			this.objects = objects;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if ((this.end - this.start) <= UpdateBand.OBJECTS_PER_TASK) {
+				for (int index = this.start; index < this.end; index += 1) {
+					this.objects[index].update();
+				}
+			} else {
+				final int middle = (this.start + this.end) >>> 1;
+				ForkJoinTask.invokeAll(new IndependentUpdate(this.objects, this.start, middle),
+						new IndependentUpdate(this.objects, middle, this.end));
+			}
+		}
+	}
+}
@@ -0,0 +1,309 @@
+package com.skanderj.lucidityengine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ *
+ * Keeps scaled copies of the images drawn by the {@link Screen} so that an
+ * image drawn at the same size every frame is only scaled once. Least recently
+ * used copies are dropped when the cache grows past its memory budget. Source
+ * images are only weakly referenced: the copies of an image are dropped once
+ * it's no longer used or it's {@link #invalidate(BufferedImage) invalidated},
+ * which the resources classes do when an image is unloaded or replaced. Only
+ * meant to be used from the rendering thread, except for invalidating.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class ScaledImageCache {
+	// Default memory budget, in bytes
+	public static final long DEFAULT_CAPACITY = 64L * 1024L * 1024L;
+
+	// Every cache, for invalidation
+	private static final Map<ScaledImageCache, Boolean> caches = new WeakHashMap<>();
+
+	// Scaled copies, in access order
+	private final Map<Key, BufferedImage> scaledImages;
+	// Keys whose source image was collected & source images invalidated from
+	// another thread, both dropped on the next lookup
+	private final ReferenceQueue<BufferedImage> collectedImages;
+	private final Queue<WeakReference<BufferedImage>> invalidatedImages;
+	// Reused for every lookup so drawing doesn't allocate
+	private final Key probe;
+	// Memory budget & estimated memory used by the scaled copies, in bytes
+	private long capacity, size;
+	// Statistics since the last reset
+	private long hits, misses;
+
+	/**
+	 * Basic constructor.
+	 *
+	 * @param capacity the memory budget in bytes
+	 */
+	public ScaledImageCache(final long capacity) {
+		this.scaledImages = new LinkedHashMap<Key, BufferedImage>(16, 0.75F, true);
+		this.collectedImages = new ReferenceQueue<>();
+		this.invalidatedImages = new ConcurrentLinkedQueue<>();
+		this.probe = new Key(null, null);
+		this.capacity = capacity;
+		this.size = 0;
+		this.resetStatistics();
+		synchronized (ScaledImageCache.caches) {
+			ScaledImageCache.caches.put(this, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Drops the scaled copies of the provided image from every cache, on their
+	 * next lookup. Can be called from any thread.
+	 */
+	public static void invalidate(final BufferedImage image) {
+		synchronized (ScaledImageCache.caches) {
+			for (final ScaledImageCache cache : ScaledImageCache.caches.keySet()) {
+				cache.invalidatedImages.add(new WeakReference<>(image));
+			}
+		}
+	}
+
+	/**
+	 * Returns a copy of the image scaled to the provided size using the provided
+	 * interpolation hint, scaling it only if it isn't already cached. Returns null
+	 * if the scaled copy alone wouldn't fit in the memory budget.
+	 *
+	 * @param image         the source image
+	 * @param width         the target width
+	 * @param height        the target height
+	 * @param interpolation a {@link RenderingHints#KEY_INTERPOLATION} value
+	 * @param configuration used to create the copy, can be null
+	 */
+	public BufferedImage get(final BufferedImage image, final int width, final int height, final Object interpolation,
+			final GraphicsConfiguration configuration) {
+		final long imageSize = ScaledImageCache.sizeOf(width, height);
+		if (imageSize > this.capacity) {
+			return null;
+		}
+		this.purge();
+		this.probe.set(image, width, height, interpolation);
+		BufferedImage scaledImage = this.scaledImages.get(this.probe);
+		this.probe.set(null, 0, 0, null);
+		if (scaledImage != null) {
+			this.hits += 1;
+			return scaledImage;
+		}
+		this.misses += 1;
+		scaledImage = ScaledImageCache.scale(image, width, height, interpolation, configuration);
+		final Key key = new Key(image, this.collectedImages);
+		key.set(null, width, height, interpolation);
+		this.scaledImages.put(key, scaledImage);
+		this.size += imageSize;
+		this.evict();
+		return scaledImage;
+	}
+
+	/**
+	 * Used internally to drop the copies of collected & invalidated images.
+	 */
+	private void purge() {
+		Key collected;
+		while ((collected = (Key) this.collectedImages.poll()) != null) {
+			this.remove(collected);
+		}
+		WeakReference<BufferedImage> invalidated;
+		while ((invalidated = this.invalidatedImages.poll()) != null) {
+			final BufferedImage image = invalidated.get();
+			if (image == null) {
+				continue;
+			}
+			final Iterator<Key> iterator = this.scaledImages.keySet().iterator();
+			while (iterator.hasNext()) {
+				final Key key = iterator.next();
+				if (key.image() == image) {
+					this.size -= ScaledImageCache.sizeOf(key.width, key.height);
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private void remove(final Key key) {
+		if (this.scaledImages.remove(key) != null) {
+			this.size -= ScaledImageCache.sizeOf(key.width, key.height);
+		}
+	}
+
+	/**
+	 * Used internally to drop the least recently used copies until the cache fits
+	 * in its memory budget.
+	 */
+	private void evict() {
+		final Iterator<Map.Entry<Key, BufferedImage>> iterator = this.scaledImages.entrySet().iterator();
+		while ((this.size > this.capacity) && iterator.hasNext()) {
+			final Map.Entry<Key, BufferedImage> entry = iterator.next();
+			this.size -= ScaledImageCache.sizeOf(entry.getKey().width, entry.getKey().height);
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Drops every scaled copy.
+	 */
+	public void clear() {
+		this.scaledImages.clear();
+		this.size = 0;
+		while (this.collectedImages.poll() != null) {
+			continue;
+		}
+		this.invalidatedImages.clear();
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public void resetStatistics() {
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Self explanatory. Evicts right away if the new budget is smaller.
+	 */
+	public void setCapacity(final long capacity) {
+		this.capacity = capacity;
+		this.evict();
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public long capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * @return the estimated memory used by the scaled copies, in bytes
+	 */
+	public long size() {
+		return this.size;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public long hits() {
+		return this.hits;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public long misses() {
+		return this.misses;
+	}
+
+	/**
+	 * Used internally to scale an image, keeping its transparency.
+	 */
+	private static BufferedImage scale(final BufferedImage image, final int width, final int height,
+			final Object interpolation, final GraphicsConfiguration configuration) {
+		final int transparency = image.getColorModel().getTransparency();
+		final BufferedImage scaledImage;
+		if (configuration != null) {
+			scaledImage = configuration.createCompatibleImage(width, height, transparency);
+		} else {
+			scaledImage = new BufferedImage(width, height,
+					transparency == BufferedImage.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+		}
+		final Graphics2D graphics = scaledImage.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		graphics.drawImage(image, 0, 0, width, height, null);
+		graphics.dispose();
+		return scaledImage;
+	}
+
+	/**
+	 * Used internally, assumes 4 bytes per pixel.
+	 */
+	private static long sizeOf(final int width, final int height) {
+		return (long) width * height * 4L;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ScaledImageCache (params: entries=%d, size=%d/%d, hits=%d, misses=%d)",
+				this.scaledImages.size(), this.size, this.capacity, this.hits, this.misses);
+	}
+
+	/**
+	 * Identifies a scaled copy. Source images are compared by identity & only
+	 * weakly referenced, except by the lookup probe which holds one strongly while
+	 * it's used.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class Key extends WeakReference<BufferedImage> {
+		private BufferedImage image;
+		private int width, height;
+		private Object interpolation;
+		// Computed once, the source image can't be hashed after being collected
+		private int hash;
+
+		private Key(final BufferedImage image, final ReferenceQueue<BufferedImage> queue) {
+			super(image, queue);
+			this.hash = System.identityHashCode(image);
+		}
+
+		/**
+		 * Used by the cache, the image is only set on the probe.
+		 */
+		private void set(final BufferedImage image, final int width, final int height, final Object interpolation) {
+			if (image != null) {
+				this.hash = System.identityHashCode(image);
+			}
+			this.image = image;
+			this.width = width;
+			this.height = height;
+			this.interpolation = interpolation;
+		}
+
+		/**
+		 * Used by the cache, null once collected.
+		 */
+		private BufferedImage image() {
+			return this.image != null ? this.image : this.get();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			final Key key = (Key) object;
+			final BufferedImage image = this.image();
+			return (image != null) && (image == key.image()) && (this.width == key.width)
+					&& (this.height == key.height) && (this.interpolation == key.interpolation);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = this.hash;
+			hash = (31 * hash) + this.width;
+			hash = (31 * hash) + this.height;
+			return (31 * hash) + System.identityHashCode(this.interpolation);
+		}
+	}
+}
@@ -5,9 +5,21 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.Area;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.TextureAtlas;
 
 /**
  *
@@ -22,16 +34,42 @@ public final class Screen {
 	// How many buffers do you need (generally 2/3)
 	private final int buffers;
 
-	// The image to be drawn on screen
-	private final BufferedImage imageOnScreen;
+	// Size of the image to be drawn on screen
+	private final int width, height;
+	// Whether the image should live in video memory when possible
+	private boolean accelerated;
+	// The image to be drawn on screen, only one of them is used
+	private BufferedImage imageOnScreen;
+	private VolatileImage acceleratedImageOnScreen;
 	// Graphics object to draw on the image
-	private final Graphics2D imageGraphics;
+	private Graphics2D imageGraphics;
 	// Graphics object to draw the image on the drawing area
 	private Graphics2D canvasGraphics;
 
+	// Above this many dirty regions in a frame, they're merged into their bounds
+	public static final int MAXIMUM_DIRTY_REGIONS = 16;
+	// When enabled, only the invalidated regions are cleared, redrawn & blitted
+	private volatile boolean dirtyRegionsEnabled;
+	// Regions invalidated since the last frame, filled from the updating thread
+	private final List<Rectangle> pendingDirtyRegions;
+	private boolean everythingDirty;
+	// Regions drawn in the current frame & in the previous ones still waiting to
+	// reach every buffer of the buffer strategy (only used by the rendering thread)
+	private final List<List<Rectangle>> dirtyRegionsHistory;
+	private List<Rectangle> frameDirtyRegions;
+
+	// Scaled copies of the images drawn at a size different from their own
+	private final ScaledImageCache scaledImageCache;
+
+	// Frame time statistics since the last reset, in nanoseconds
+	private long frameStartTime, frameTimeSum, maximumFrameTime;
+	private int framesCount;
+
 	/**
 	 * Basic constructor. Initializes graphics objects & creates the image to be
-	 * drawn on.
+	 * drawn on. If the configuration asks for it & the display allows it, the
+	 * image is a {@link VolatileImage} living in video memory, otherwise a regular
+	 * {@link BufferedImage}.
 	 * 
 	 * @param canvas              provided by the {@link Window} class
 	 * @param windowConfiguration used to set the image's size
@@ -39,22 +77,122 @@ public final class Screen {
 	protected Screen(final Canvas canvas, final WindowConfiguration windowConfiguration) {
 		this.canvas = canvas;
 		this.buffers = windowConfiguration.buffers;
-		this.imageOnScreen = new BufferedImage(windowConfiguration.width, windowConfiguration.height,
-				BufferedImage.TYPE_INT_ARGB);
-		this.imageGraphics = (Graphics2D) this.imageOnScreen.getGraphics();
+		this.width = windowConfiguration.width;
+		this.height = windowConfiguration.height;
+		this.accelerated = windowConfiguration.accelerated;
+		this.imageOnScreen = null;
+		this.acceleratedImageOnScreen = null;
+		this.imageGraphics = null;
+		this.createImageOnScreen();
+		this.dirtyRegionsEnabled = false;
+		this.pendingDirtyRegions = new ArrayList<Rectangle>();
+		this.everythingDirty = true;
+		this.dirtyRegionsHistory = new ArrayList<List<Rectangle>>();
+		this.frameDirtyRegions = new ArrayList<Rectangle>();
+		this.scaledImageCache = new ScaledImageCache(ScaledImageCache.DEFAULT_CAPACITY);
+		this.resetStatistics();
+	}
+
+	/**
+	 * Used internally to (re)create the image to be drawn on, keeping the rendering
+	 * hints of the previous one. Falls back to a {@link BufferedImage} for good if
+	 * the display can't accelerate a {@link VolatileImage}.
+	 */
+	private final void createImageOnScreen() {
+		final RenderingHints hints = this.imageGraphics == null ? null : this.imageGraphics.getRenderingHints();
+		if (this.imageGraphics != null) {
+			this.imageGraphics.dispose();
+		}
+		if (this.acceleratedImageOnScreen != null) {
+			this.acceleratedImageOnScreen.flush();
+			this.acceleratedImageOnScreen = null;
+		}
+		final GraphicsConfiguration configuration = this.canvas.getGraphicsConfiguration();
+		if (this.accelerated && (configuration != null)) {
+			final VolatileImage image = configuration.createCompatibleVolatileImage(this.width, this.height,
+					Transparency.OPAQUE);
+			if (image.getCapabilities().isAccelerated()) {
+				this.acceleratedImageOnScreen = image;
+				this.imageOnScreen = null;
+				this.imageGraphics = image.createGraphics();
+			} else {
+				image.flush();
+			}
+		}
+		if (this.acceleratedImageOnScreen == null) {
+			if (this.accelerated) {
+				Logger.log(Screen.class, LogLevel.INFO,
+						"Accelerated rendering is unavailable, falling back to software rendering");
+				this.accelerated = false;
+			}
+			if (this.imageOnScreen == null) {
+				this.imageOnScreen = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_ARGB);
+			}
+			this.imageGraphics = this.imageOnScreen.createGraphics();
+		}
+		if (hints != null) {
+			this.imageGraphics.setRenderingHints(hints);
+		}
 	}
 
 	/**
-	 * Starts a single cycle of drawing.
+	 * Used internally to make sure the accelerated image is still usable before
+	 * drawing on it. Its contents can be lost at any time (display mode change,
+	 * another application going fullscreen...), in which case everything has to
+	 * be redrawn.
 	 */
-	public final void push() {
+	private final void validateImageOnScreen() {
+		if (this.acceleratedImageOnScreen == null) {
+			return;
+		}
+		final int status = this.acceleratedImageOnScreen.validate(this.canvas.getGraphicsConfiguration());
+		if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+			this.createImageOnScreen();
+			this.invalidate();
+		} else if (status == VolatileImage.IMAGE_RESTORED) {
+			this.invalidate();
+		}
+	}
+
+	/**
+	 * @return the image being drawn on, accelerated or not
+	 */
+	private final Image imageOnScreen() {
+		return this.acceleratedImageOnScreen == null ? this.imageOnScreen : this.acceleratedImageOnScreen;
+	}
+
+	/**
+	 * Starts a single cycle of drawing. With dirty regions enabled, drawing is
+	 * clipped to the regions invalidated since the last frame & the whole frame is
+	 * skipped if nothing changed.
+	 * 
+	 * @return whether something has to be drawn this cycle
+	 */
+	public final boolean push() {
 		final BufferStrategy canvasBufferStrategy = this.canvas.getBufferStrategy();
 		if (canvasBufferStrategy == null) {
 			this.canvas.createBufferStrategy(this.buffers);
-			return;
+			return false;
 		}
+		this.validateImageOnScreen();
+		if (this.dirtyRegionsEnabled) {
+			this.collectDirtyRegions();
+			if (this.frameDirtyRegions.isEmpty() && this.dirtyRegionsHistory.isEmpty()) {
+				this.canvasGraphics = null;
+				return false;
+			}
+			final Area clip = new Area();
+			for (final Rectangle region : this.frameDirtyRegions) {
+				clip.add(new Area(region));
+			}
+			this.imageGraphics.setClip(clip);
+		} else {
+			this.imageGraphics.setClip(null);
+		}
+		this.frameStartTime = System.nanoTime();
 		this.canvasGraphics = (Graphics2D) canvasBufferStrategy.getDrawGraphics();
 		this.clear();
+		return true;
 	}
 
 	/**
@@ -64,10 +202,154 @@ public final class Screen {
 		if (this.canvasGraphics == null) {
 			return;
 		}
-		this.canvasGraphics.drawImage(this.imageOnScreen, 0, 0, this.imageOnScreen.getWidth(),
-				this.imageOnScreen.getHeight(), null);
+		if (this.dirtyRegionsEnabled) {
+			// Every buffer of the strategy has to receive the regions drawn in the last
+			// frames, not only the current one
+			this.blit(this.frameDirtyRegions);
+			for (final List<Rectangle> regions : this.dirtyRegionsHistory) {
+				this.blit(regions);
+			}
+			this.dirtyRegionsHistory.add(0, this.frameDirtyRegions);
+			this.frameDirtyRegions = new ArrayList<Rectangle>();
+			while (this.dirtyRegionsHistory.size() >= this.buffers) {
+				this.dirtyRegionsHistory.remove(this.dirtyRegionsHistory.size() - 1);
+			}
+			boolean historyIsEmpty = true;
+			for (final List<Rectangle> regions : this.dirtyRegionsHistory) {
+				historyIsEmpty &= regions.isEmpty();
+			}
+			if (historyIsEmpty) {
+				this.dirtyRegionsHistory.clear();
+			}
+			this.imageGraphics.setClip(null);
+		} else {
+			this.canvasGraphics.drawImage(this.imageOnScreen(), 0, 0, this.width, this.height, null);
+		}
 		this.canvasGraphics.dispose();
-		this.canvas.getBufferStrategy().show();
+		final BufferStrategy canvasBufferStrategy = this.canvas.getBufferStrategy();
+		canvasBufferStrategy.show();
+		if (canvasBufferStrategy.contentsLost()
+				|| ((this.acceleratedImageOnScreen != null) && this.acceleratedImageOnScreen.contentsLost())) {
+			this.invalidate();
+		}
+		final long frameTime = System.nanoTime() - this.frameStartTime;
+		this.frameTimeSum += frameTime;
+		this.maximumFrameTime = Math.max(this.maximumFrameTime, frameTime);
+		this.framesCount += 1;
+	}
+
+	/**
+	 * Self explanatory.
+	 * 
+	 * @return whether the image drawn on lives in video memory
+	 */
+	public final boolean isAccelerated() {
+		return this.acceleratedImageOnScreen != null;
+	}
+
+	/**
+	 * Clears the frame time statistics.
+	 */
+	public final void resetStatistics() {
+		this.frameTimeSum = 0;
+		this.maximumFrameTime = 0;
+		this.framesCount = 0;
+	}
+
+	/**
+	 * @return the average time between {@link Screen#push()} &
+	 *         {@link Screen#pop()} since the last reset, in milliseconds
+	 */
+	public final double averageFrameTime() {
+		return this.framesCount == 0 ? 0 : (this.frameTimeSum / (double) this.framesCount) / 1000000.0D;
+	}
+
+	/**
+	 * @return the longest time between {@link Screen#push()} &
+	 *         {@link Screen#pop()} since the last reset, in milliseconds
+	 */
+	public final double maximumFrameTime() {
+		return this.maximumFrameTime / 1000000.0D;
+	}
+
+	/**
+	 * Enables or disables dirty regions. When enabled, objects have to report what
+	 * they change through {@link Screen#invalidate(int, int, int, int)} or
+	 * {@link Screen#invalidate()}, anything else won't be redrawn.
+	 */
+	public final void setDirtyRegionsEnabled(final boolean enabled) {
+		this.dirtyRegionsEnabled = enabled;
+		this.invalidate();
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public final boolean isDirtyRegionsEnabled() {
+		return this.dirtyRegionsEnabled;
+	}
+
+	/**
+	 * Marks a region to be redrawn on the next frame. Does nothing unless dirty
+	 * regions are enabled.
+	 */
+	public final void invalidate(final int x, final int y, final int width, final int height) {
+		if (!this.dirtyRegionsEnabled) {
+			return;
+		}
+		final Rectangle region = new Rectangle(x, y, width, height)
+				.intersection(new Rectangle(0, 0, this.width, this.height));
+		if (region.isEmpty()) {
+			return;
+		}
+		synchronized (this.pendingDirtyRegions) {
+			this.pendingDirtyRegions.add(region);
+		}
+	}
+
+	/**
+	 * Marks the whole screen to be redrawn on the next frame.
+	 */
+	public final void invalidate() {
+		synchronized (this.pendingDirtyRegions) {
+			this.everythingDirty = true;
+		}
+	}
+
+	/**
+	 * Used internally to move the pending regions to the current frame, merging
+	 * them if there are too many.
+	 */
+	private final void collectDirtyRegions() {
+		synchronized (this.pendingDirtyRegions) {
+			if (this.everythingDirty) {
+				this.frameDirtyRegions
+						.add(new Rectangle(0, 0, this.width, this.height));
+				this.everythingDirty = false;
+			} else {
+				this.frameDirtyRegions.addAll(this.pendingDirtyRegions);
+			}
+			this.pendingDirtyRegions.clear();
+		}
+		if (this.frameDirtyRegions.size() > Screen.MAXIMUM_DIRTY_REGIONS) {
+			final Rectangle bounds = new Rectangle(this.frameDirtyRegions.get(0));
+			for (final Rectangle region : this.frameDirtyRegions) {
+				bounds.add(region);
+			}
+			this.frameDirtyRegions.clear();
+			this.frameDirtyRegions.add(bounds);
+		}
+	}
+
+	/**
+	 * Used internally to copy regions of the image to the drawing area.
+	 */
+	private final void blit(final List<Rectangle> regions) {
+		for (final Rectangle region : regions) {
+			this.canvasGraphics.drawImage(this.imageOnScreen(), region.x, region.y, region.x + region.width,
+					region.y + region.height, region.x, region.y, region.x + region.width, region.y + region.height,
+					null);
+		}
 	}
 
 	/**
@@ -97,11 +379,12 @@ public final class Screen {
 	}
 
 	/**
-	 * Used at the beginning of every cycle.
+	 * Used at the beginning of every cycle. Only clears the current clip when dirty
+	 * regions are enabled.
 	 */
 	private final void clear() {
 		this.imageGraphics.setColor(Color.BLACK);
-		this.imageGraphics.fillRect(0, 0, this.imageOnScreen.getWidth(), this.imageOnScreen.getHeight());
+		this.imageGraphics.fillRect(0, 0, this.width, this.height);
 	}
 
 	/**
@@ -160,7 +443,8 @@ public final class Screen {
 	}
 
 	/**
-	 * Self explanatory.
+	 * Self explanatory. If the image isn't drawn at its own size, a scaled copy is
+	 * taken from the {@link ScaledImageCache} so that it's only scaled once.
 	 * 
 	 * @param bufferedImage
 	 * @param x
@@ -170,9 +454,44 @@ public final class Screen {
 	 */
 	public void drawImage(final BufferedImage bufferedImage, final int x, final int y, final int width,
 			final int height) {
+		if (((bufferedImage.getWidth() != width) || (bufferedImage.getHeight() != height)) && (width > 0)
+				&& (height > 0)) {
+			Object interpolation = this.imageGraphics.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+			if (interpolation == null) {
+				interpolation = RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+			}
+			final BufferedImage scaledImage = this.scaledImageCache.get(bufferedImage, width, height, interpolation,
+					this.canvas.getGraphicsConfiguration());
+			if (scaledImage != null) {
+				this.imageGraphics.drawImage(scaledImage, x, y, null);
+				return;
+			}
+		}
 		this.imageGraphics.drawImage(bufferedImage, x, y, width, height, null);
 	}
 
+	/**
+	 * Draws a region of a {@link TextureAtlas} page, scaled to the provided size.
+	 * 
+	 * @param region
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public final void drawRegion(final TextureAtlas.Region region, final int x, final int y, final int width,
+			final int height) {
+		this.imageGraphics.drawImage(region.page(), x, y, x + width, y + height, region.x(), region.y(),
+				region.x() + region.width(), region.y() + region.height(), null);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public final ScaledImageCache scaledImageCache() {
+		return this.scaledImageCache;
+	}
+
 	/**
 	 * Self explanatory.
 	 * 
@@ -13,6 +13,7 @@ public final class WindowConfiguration {
 	protected final boolean fullscreen;
 	protected final int buffers;
 	protected final int deviceId;
+	protected final boolean accelerated;
 
 	public WindowConfiguration(final String title, final int width, final int height, final boolean fullscreen,
 			final int buffers) {
@@ -21,12 +22,22 @@ public final class WindowConfiguration {
 
 	public WindowConfiguration(final String title, final int width, final int height, final boolean fullscreen,
 			final int buffers, final int deviceId) {
+		this(title, width, height, fullscreen, buffers, deviceId, true);
+	}
+
+	/**
+	 * @param accelerated whether the screen should render into video memory when
+	 *                    the display allows it (see {@link Screen#isAccelerated()})
+	 */
+	public WindowConfiguration(final String title, final int width, final int height, final boolean fullscreen,
+			final int buffers, final int deviceId, final boolean accelerated) {
 		this.title = title;
 		this.width = width;
 		this.height = height;
 		this.fullscreen = fullscreen;
 		this.buffers = buffers;
 		this.deviceId = deviceId;
+		this.accelerated = accelerated;
 	}
 
 	public String getTitle() {
@@ -48,4 +59,8 @@ public final class WindowConfiguration {
 	public boolean isFullscreen() {
 		return this.fullscreen;
 	}
+
+	public boolean isAccelerated() {
+		return this.accelerated;
+	}
 }
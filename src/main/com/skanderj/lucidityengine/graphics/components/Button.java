@@ -61,6 +61,9 @@ public abstract class Button extends Component {
 				&& ((this.state == ComponentState.IDLE) || (this.state == ComponentState.HOVERED)) && mouseIn) {
 			this.state = ComponentState.ACTIVE;
 		}
+		if (this.state != this.previousState) {
+			this.invalidate();
+		}
 		this.actions[this.state.identifier()].execute(this);
 	}
 
@@ -58,6 +58,9 @@ public abstract class Checkbox extends Component {
 			this.isChecked = !this.isChecked;
 			this.actions[4].execute(this);
 		}
+		if (this.state != this.previousState) {
+			this.invalidate();
+		}
 		this.actions[this.state.identifier()].execute(this);
 	}
 
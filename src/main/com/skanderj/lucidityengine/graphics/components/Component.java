@@ -3,6 +3,7 @@ package com.skanderj.lucidityengine.graphics.components;
 import com.skanderj.lucidityengine.Application;
 import com.skanderj.lucidityengine.core.ApplicationObject;
 import com.skanderj.lucidityengine.core.Priority;
+import com.skanderj.lucidityengine.graphics.Screen;
 
 /**
  * Represents a custom graphic component. Placeholder interface for batch
@@ -52,4 +53,14 @@ public abstract class Component extends ApplicationObject {
 
 	// Self explanatory, implementation is child-component dependent
 	public abstract void setHeight(int height);
+
+	/**
+	 * Marks the component's bounds to be redrawn on the next frame, see
+	 * {@link Screen#invalidate(int, int, int, int)}. Call it whenever what the
+	 * component draws changes.
+	 */
+	public void invalidate() {
+		this.application.screen().invalidate((int) this.getX(), (int) this.getY(), this.getWidth(),
+				this.getHeight());
+	}
 }
\ No newline at end of file
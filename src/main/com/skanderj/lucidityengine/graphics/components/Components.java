@@ -1,6 +1,7 @@
 package com.skanderj.lucidityengine.graphics.components;
 
 import com.skanderj.lucidityengine.core.Engine;
+import com.skanderj.lucidityengine.core.ObjectHandle;
 
 /**
  * A class used for dealing with the focus. Can't be instantiated, only static
@@ -26,21 +27,15 @@ public final class Components {
 	 * focused component.
 	 */
 	public static synchronized void giveFocus(final String identifier) {
-		final Component component = (Component) Engine.getObject(identifier);
-		if (component == null) {
-			Components.inFocus = null;
-			return;
-		}
-		if (Components.inFocus == null) {
-			component.grantFocus();
-			Components.inFocus = component;
-		} else {
-			if (Components.inFocus.canChangeFocus()) {
-				Components.inFocus.revokeFocus();
-				component.grantFocus();
-				Components.inFocus = component;
-			}
-		}
+		Components.giveFocus((Component) Engine.getObject(identifier));
+	}
+
+	/**
+	 * Gives focus the provided component if focus can be revoked from the currently
+	 * focused component. Resolves the handle without any hashing.
+	 */
+	public static synchronized void giveFocus(final ObjectHandle handle) {
+		Components.giveFocus((Component) Engine.getObject(handle));
 	}
 
 	/**
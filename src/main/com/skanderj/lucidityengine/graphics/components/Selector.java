@@ -164,7 +164,13 @@ public abstract class Selector extends Component {
 		}
 		this.leftArrow.actions[this.leftArrow.currentState.identifier()].execute(this);
 		this.rightArrow.actions[this.rightArrow.currentState.identifier()].execute(this);
+		final String previousOption = this.currentOption;
 		this.currentOption = this.options.get(this.currentOptionIndex);
+		if ((this.leftArrow.currentState != this.leftArrow.previousState)
+				|| (this.rightArrow.currentState != this.rightArrow.previousState)
+				|| (this.currentOption != previousOption)) {
+			this.invalidate();
+		}
 	}
 
 	@Override
@@ -40,6 +40,9 @@ public abstract class Slider extends Component {
 				this.hasFocus = false;
 			}
 		}
+		if (this.hasFocus) {
+			this.invalidate();
+		}
 	}
 
 	/**
@@ -52,6 +52,8 @@ public abstract class Textfield extends Component {
 	public synchronized void update() {
 		// Check if the component has global focus
 		if (this.hasFocus) {
+			// The text or the cursor may change at any time while focused
+			this.invalidate();
 			// Go through every keyboard key and retain those which are pressed at the
 			// current frame
 			for (final int keyCode : this.application.keyboard().getKeysByState(KeyState.DOWN_IN_CURRENT_FRAME)) {
@@ -247,6 +249,7 @@ public abstract class Textfield extends Component {
 	@Override
 	public final void grantFocus() {
 		this.hasFocus = true;
+		this.invalidate();
 	}
 
 	/**
@@ -255,6 +258,7 @@ public abstract class Textfield extends Component {
 	@Override
 	public final void revokeFocus() {
 		this.hasFocus = false;
+		this.invalidate();
 	}
 
 	/**
@@ -31,9 +31,23 @@ public abstract class Transition extends ApplicationObject {
 			if (this.timer >= this.durationInFrames) {
 				this.isDone = true;
 			}
+			// Transitions cover the whole screen
+			this.application.screen().invalidate();
 		}
 	}
 
+	/**
+	 * Captures the timer, subclasses render from it in
+	 * {@link ApplicationObject#render(double, Object)}.
+	 */
+	@Override
+	public Object captureRenderState(final Object state) {
+		final RenderState renderState = state == null ? new RenderState() : (RenderState) state;
+		renderState.timer = this.timer;
+		renderState.isDone = this.isDone;
+		return renderState;
+	}
+
 	/**
 	 * Self explanatory.
 	 */
@@ -60,4 +74,15 @@ public abstract class Transition extends ApplicationObject {
 		this.timer = 0;
 		this.isDone = false;
 	}
+
+	/**
+	 * The timer as it was when the scene was published.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	protected static final class RenderState {
+		public int timer;
+		public boolean isDone;
+	}
 }
\ No newline at end of file
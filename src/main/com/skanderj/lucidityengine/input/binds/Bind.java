@@ -4,6 +4,7 @@ import java.util.Map;
 
 import com.skanderj.lucidityengine.core.Action;
 import com.skanderj.lucidityengine.core.Engine;
+import com.skanderj.lucidityengine.core.ObjectHandle;
 import com.skanderj.lucidityengine.core.Scene;
 import com.skanderj.lucidityengine.input.Keyboard;
 import com.skanderj.lucidityengine.input.Keyboard.KeyState;
@@ -28,14 +29,19 @@ public class Bind {
 		this.targetKeyStates = mappings.values().toArray(new KeyState[mappings.size()]);
 		this.action = action;
 		this.skipChecks = (scene == null);
-		Logger.log(Bind.class, LogLevel.DEVELOPMENT, "Skip checks (C1)? " + this.skipChecks);
+		Logger.log(Bind.class, LogLevel.DEVELOPMENT, "Skip checks (C1)? %b", this.skipChecks);
 	}
 
 	public Bind(final String sceneIdentifier, final Integer[] keycodes, final KeyState[] states, final Action action) {
 		this((Scene) Engine.getObject(sceneIdentifier), keycodes, states, action);
 		this.skipChecks = sceneIdentifier.equals("*") || ((Scene) Engine.getObject(sceneIdentifier) == null);
-		Logger.log(Bind.class, LogLevel.DEVELOPMENT,
-				"Skip checks (C2)? " + this.skipChecks + ", " + Engine.getObject(sceneIdentifier));
+		Logger.log(Bind.class, LogLevel.DEVELOPMENT, "Skip checks (C2)? %b, %s", this.skipChecks,
+				Engine.getObject(sceneIdentifier));
+	}
+
+	public Bind(final ObjectHandle sceneHandle, final Integer[] keycodes, final KeyState[] states,
+			final Action action) {
+		this((Scene) Engine.getObject(sceneHandle), keycodes, states, action);
 	}
 
 	public Bind(final Scene scene, final Integer[] keycodes, final KeyState[] states, final Action action) {
@@ -49,7 +55,7 @@ public class Bind {
 		this.targetKeyStates = states;
 		this.action = action;
 		this.skipChecks = (scene == null);
-		Logger.log(Bind.class, LogLevel.DEVELOPMENT, "Skip checks (C3)? " + this.skipChecks);
+		Logger.log(Bind.class, LogLevel.DEVELOPMENT, "Skip checks (C3)? %b", this.skipChecks);
 	}
 
 	/**
@@ -9,6 +9,8 @@ import java.util.Set;
 import com.skanderj.lucidityengine.Application;
 import com.skanderj.lucidityengine.core.Action;
 import com.skanderj.lucidityengine.core.Engine;
+import com.skanderj.lucidityengine.core.ObjectHandle;
+import com.skanderj.lucidityengine.core.Scene;
 import com.skanderj.lucidityengine.input.Keyboard;
 import com.skanderj.lucidityengine.input.Keyboard.KeyState;
 import com.skanderj.lucidityengine.logging.Logger;
@@ -34,6 +36,14 @@ public class Binds {
 		Binds.registerBind(new Bind(targetScene, targetKeycodes, targetState, action));
 	}
 
+	/**
+	 * Self explanatory.
+	 */
+	public static final void registerBind(final ObjectHandle targetScene, final Integer[] targetKeycodes,
+			final Keyboard.KeyState[] targetState, final Action action) {
+		Binds.registerBind(new Bind(targetScene, targetKeycodes, targetState, action));
+	}
+
 	/**
 	 * Self explanatory.
 	 */
@@ -48,6 +58,13 @@ public class Binds {
 	 * Self explanatory. Logic happens here.
 	 */
 	public static final void update(final Application application) {
+		Binds.update(application, Engine.currentScene());
+	}
+
+	/**
+	 * Same as above for the binds of the provided scene, the one being updated.
+	 */
+	public static final void update(final Application application, final Scene scene) {
 		final Keyboard keyboard = application.keyboard();
 		if (keyboard != null) {
 			final Integer[] keysDown = keyboard.getKeysByState(Keyboard.KeyState.DOWN);
@@ -60,7 +77,7 @@ public class Binds {
 				states.put(key, KeyState.DOWN_IN_CURRENT_FRAME);
 			}
 			for (final Bind bind : Binds.binds) {
-				if ((bind.targetScene() == Engine.currentScene()) || bind.skipChecks()) {
+				if ((bind.targetScene() == scene) || bind.skipChecks()) {
 					boolean execute = true;
 					for (int i = 0; i < bind.targetKeyCodes().length; i += 1) {
 						final int target = bind.targetKeyCodes()[i];
@@ -71,7 +88,7 @@ public class Binds {
 					}
 					if (execute) {
 						bind.action().execute(null);
-						Logger.log(Binds.class, LogLevel.DEBUG, "Executing bind %s", bind.toString());
+						Logger.log(Binds.class, LogLevel.DEBUG, "Executing bind %s", bind);
 					}
 				}
 			}
@@ -9,6 +9,8 @@ import java.util.Map;
 
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.AssetPack;
+import com.skanderj.lucidityengine.resources.HotReloader;
 
 /**
  * A class used to load and retrieve translations from .lang files - a more
@@ -21,8 +23,10 @@ public final class Locales {
 	// Default language will always be ENGLISH because ENGLISH >>>>
 	public static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
 
-	// Translations map, only 1 language at a time (#TODO maybe change that?)
-	private static final Map<String, String> translationsMap = new HashMap<>();
+	// Translations map, only 1 language at a time (#TODO maybe change that?).
+	// Never modified once published, loading a language swaps the whole map so
+	// readers never see a half loaded file
+	private static volatile Map<String, String> translationsMap = new HashMap<>();
 
 	private Locales() {
 		return;
@@ -34,17 +38,21 @@ public final class Locales {
 	 */
 	public static boolean loadLanguage(final Locale language) {
 		final File languageFile = new File("res/" + language.identifier + ".lang");
+		HotReloader.track(languageFile.getPath(), "locale:" + language.identifier,
+				() -> Locales.loadLanguage(language));
 		if (languageFile.exists()) {
 			try {
+				final Map<String, String> translations = new HashMap<>();
 				final BufferedReader bufferedReader = new BufferedReader(new FileReader(languageFile));
 				String line = new String();
 				while ((line = bufferedReader.readLine()) != null) {
 					if (line.startsWith("#") || line.isBlank()) {
 						continue;
 					}
-					Locales.translationsMap.put(line.split("=")[0], line.split("=")[1]);
+					translations.put(line.split("=")[0], line.split("=")[1]);
 				}
 				bufferedReader.close();
+				Locales.publish(translations);
 				Logger.log(Locales.class, LogLevel.INFO, "Successfully loaded translations for language '%s'...",
 						language.identifier);
 				return true;
@@ -61,6 +69,33 @@ public final class Locales {
 		}
 	}
 
+	/**
+	 * Loads the translations baked in an {@link AssetPack} (entry
+	 * "&lt;identifier&gt;.lang"). Returns true if successful, false otherwise.
+	 */
+	public static boolean loadLanguage(final Locale language, final AssetPack pack) {
+		try {
+			final Map<String, String> translations = pack.translations(language.identifier + ".lang");
+			Locales.publish(translations);
+			Logger.log(Locales.class, LogLevel.INFO, "Successfully loaded translations for language '%s'...",
+					language.identifier);
+			return true;
+		} catch (final IOException exception) {
+			Logger.log(Locales.class, LogLevel.SEVERE,
+					"An exception occurred while loading translations from pack for language '%s': %s",
+					language.identifier, exception.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Used internally to swap in a language's translations, replacing the whole
+	 * map at once so keys removed from the file don't outlive a reload.
+	 */
+	private static void publish(final Map<String, String> translations) {
+		Locales.translationsMap = new HashMap<>(translations);
+	}
+
 	/**
 	 * Gets called if a translation is pulled before any language is properly
 	 * loaded.
@@ -78,8 +113,8 @@ public final class Locales {
 		if (Locales.translationsMap.isEmpty()) {
 			Locales.loadDefaultLanguage();
 		}
-		return Locales.translationsMap.get(key) == null ? "(null)"
-				: String.format(Locales.translationsMap.get(key), args);
+		final String translation = Locales.translationsMap.get(key);
+		return translation == null ? "(null)" : String.format(translation, args);
 	}
 
 	/**
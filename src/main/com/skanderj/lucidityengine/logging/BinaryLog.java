@@ -0,0 +1,326 @@
+package com.skanderj.lucidityengine.logging;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+
+/**
+ * A compact binary event log for high frequency diagnostics, meant to be left
+ * on in production. Can't be instantiated, only static methods. Every event is
+ * a timestamp, a level, the ids of its origin & message template (each string
+ * is stored once in the file's dictionary) & its typed arguments, written to a
+ * memory mapped ring: nothing is formatted, the file never grows & once full
+ * the oldest events are overwritten. The operating system writes the mapped
+ * pages back, so the log survives the process crashing. Use
+ * {@link BinaryLogDecoder} to read it back as text or CSV.
+ *
+ * <pre>
+ * HEADER     := MAGIC (int) VERSION (int) baseTime (long, epoch ms)
+ *               baseNanoTime (long) dictionaryCapacity (int) dictionarySize (int)
+ *               ringCapacity (int) dictionaryCount (int) oldest (long) next (long)
+ * DICTIONARY := (length (short) utf8 bytes)*
+ * RING       := (length (short) nanoTime (long) level (byte) origin (short)
+ *               message (short) count (byte) ARGUMENT*)*, a zero length skips to
+ *               the start of the ring
+ * ARGUMENT   := type (byte) value
+ * </pre>
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class BinaryLog {
+	private BinaryLog() {
+		return;
+	}
+
+	// Format identification
+	public static final int MAGIC = 0x4C42494E, VERSION = 1;
+	// Header layout
+	static final int HEADER_SIZE = 64, DICTIONARY_SIZE_OFFSET = 28, DICTIONARY_COUNT_OFFSET = 36,
+			OLDEST_OFFSET = 40, NEXT_OFFSET = 48;
+	// Event layout
+	static final int EVENT_HEADER_SIZE = 16;
+	// Argument types
+	static final byte NULL = 0, INT = 1, LONG = 2, FLOAT = 3, DOUBLE = 4, BOOLEAN = 5, STRING = 6;
+	// Used for strings that didn't fit in the dictionary
+	static final int UNKNOWN_ID = 0xFFFF;
+	// Longest string argument kept, in bytes
+	public static final int MAXIMUM_STRING_LENGTH = 1024;
+	// Defaults: 256 KB of dictionary & 16 MB of events
+	public static final int DEFAULT_DICTIONARY_CAPACITY = 256 * 1024, DEFAULT_RING_CAPACITY = 16 * 1024 * 1024;
+
+	// Mapped file, null when closed - only used while holding the class' lock,
+	// except for checking whether it's open
+	private static volatile MappedByteBuffer buffer;
+	private static int ringOffset, ringCapacity, dictionarySize, dictionaryCapacity, dictionaryCount;
+	private static long oldest, next, baseNanoTime;
+	// Strings already in the dictionary
+	private static final Map<String, Integer> stringsMap = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Integer> originsMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates (or replaces) the provided file & starts recording to it. Returns
+	 * true if successful, false otherwise.
+	 */
+	public static synchronized boolean open(final String path, final int dictionaryCapacity,
+			final int ringCapacity) {
+		BinaryLog.close();
+		final long size = (long) BinaryLog.HEADER_SIZE + dictionaryCapacity + ringCapacity;
+		try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+			file.setLength(0);
+			BinaryLog.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} catch (final IOException exception) {
+			Logger.log(BinaryLog.class, LogLevel.SEVERE, "Could not open binary log %s: %s", path,
+					exception.getMessage());
+			return false;
+		}
+		BinaryLog.ringOffset = BinaryLog.HEADER_SIZE + dictionaryCapacity;
+		BinaryLog.ringCapacity = ringCapacity;
+		BinaryLog.dictionaryCapacity = dictionaryCapacity;
+		BinaryLog.dictionarySize = 0;
+		BinaryLog.dictionaryCount = 0;
+		BinaryLog.oldest = 0;
+		BinaryLog.next = 0;
+		BinaryLog.baseNanoTime = System.nanoTime();
+		BinaryLog.stringsMap.clear();
+		BinaryLog.originsMap.clear();
+		BinaryLog.buffer.putInt(0, BinaryLog.MAGIC);
+		BinaryLog.buffer.putInt(4, BinaryLog.VERSION);
+		BinaryLog.buffer.putLong(8, System.currentTimeMillis());
+		BinaryLog.buffer.putLong(16, BinaryLog.baseNanoTime);
+		BinaryLog.buffer.putInt(24, dictionaryCapacity);
+		BinaryLog.buffer.putInt(BinaryLog.DICTIONARY_SIZE_OFFSET, 0);
+		BinaryLog.buffer.putInt(32, ringCapacity);
+		BinaryLog.buffer.putInt(BinaryLog.DICTIONARY_COUNT_OFFSET, 0);
+		BinaryLog.buffer.putLong(BinaryLog.OLDEST_OFFSET, 0);
+		BinaryLog.buffer.putLong(BinaryLog.NEXT_OFFSET, 0);
+		Logger.log(BinaryLog.class, LogLevel.INFO, "Recording binary log to %s (%d KB)", path, size / 1024);
+		return true;
+	}
+
+	/**
+	 * Self explanatory. Same as above, with the default capacities.
+	 */
+	public static boolean open(final String path) {
+		return BinaryLog.open(path, BinaryLog.DEFAULT_DICTIONARY_CAPACITY, BinaryLog.DEFAULT_RING_CAPACITY);
+	}
+
+	/**
+	 * Writes the mapped pages back & stops recording. Does nothing if not open.
+	 */
+	public static synchronized void close() {
+		if (BinaryLog.buffer == null) {
+			return;
+		}
+		BinaryLog.buffer.force();
+		BinaryLog.buffer = null;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static boolean isOpen() {
+		return BinaryLog.buffer != null;
+	}
+
+	/**
+	 * Records an event, does nothing if the log isn't open. The message is stored
+	 * as is, it's only formatted with the arguments when decoding. Numbers,
+	 * booleans & strings keep their type, any other argument is stored as its
+	 * string representation.
+	 */
+	public static synchronized void record(final Class<?> clazz, final LogLevel logLevel, final String message,
+			final Object... args) {
+		if (BinaryLog.buffer == null) {
+			return;
+		}
+		final long nanoTime = System.nanoTime();
+		final int origin = BinaryLog.originsMap.computeIfAbsent(clazz, key -> BinaryLog.intern(
+				key.getEnclosingClass() != null ? key.getEnclosingClass().getSimpleName() + "#" + key.getSimpleName()
+						: key.getSimpleName()));
+		final int template = BinaryLog.intern(message);
+		final int count = Math.min(args.length, 255);
+		// Strings are encoded up front to know the event's length
+		byte[][] strings = null;
+		int length = BinaryLog.EVENT_HEADER_SIZE;
+		for (int index = 0; index < count; index += 1) {
+			length += 1 + BinaryLog.sizeOf(args[index]);
+			if (BinaryLog.typeOf(args[index]) == BinaryLog.STRING) {
+				if (strings == null) {
+					strings = new byte[count][];
+				}
+				strings[index] = BinaryLog.encode(args[index]);
+				length += 2 + strings[index].length;
+			}
+		}
+		if (length > Math.min(0xFFFF, BinaryLog.ringCapacity)) {
+			return;
+		}
+		final long start = BinaryLog.reserve(length);
+		int position = BinaryLog.ringOffset + (int) (start % BinaryLog.ringCapacity);
+		BinaryLog.buffer.putShort(position, (short) length);
+		BinaryLog.buffer.putLong(position + 2, nanoTime);
+		BinaryLog.buffer.put(position + 10, (byte) logLevel.ordinal());
+		BinaryLog.buffer.putShort(position + 11, (short) origin);
+		BinaryLog.buffer.putShort(position + 13, (short) template);
+		BinaryLog.buffer.put(position + 15, (byte) count);
+		position += BinaryLog.EVENT_HEADER_SIZE;
+		for (int index = 0; index < count; index += 1) {
+			position = BinaryLog.put(position, args[index], strings == null ? null : strings[index]);
+		}
+		BinaryLog.next = start + length;
+		BinaryLog.buffer.putLong(BinaryLog.NEXT_OFFSET, BinaryLog.next);
+	}
+
+	/**
+	 * Used internally, finds where the next event starts - wrapping to the start
+	 * of the ring if it doesn't fit before its end - & moves the oldest event
+	 * forward past whatever it's going to overwrite.
+	 */
+	private static long reserve(final int length) {
+		long start = BinaryLog.next;
+		final int remaining = BinaryLog.ringCapacity - (int) (start % BinaryLog.ringCapacity);
+		if (remaining < length) {
+			if (remaining >= 2) {
+				BinaryLog.buffer.putShort(BinaryLog.ringOffset + (int) (start % BinaryLog.ringCapacity), (short) 0);
+			}
+			start += remaining;
+		}
+		while (BinaryLog.oldest < ((start + length) - BinaryLog.ringCapacity)) {
+			BinaryLog.oldest += BinaryLog.span(BinaryLog.buffer, BinaryLog.ringOffset, BinaryLog.ringCapacity,
+					BinaryLog.oldest);
+		}
+		BinaryLog.buffer.putLong(BinaryLog.OLDEST_OFFSET, BinaryLog.oldest);
+		return start;
+	}
+
+	/**
+	 * Used internally & by the decoder, how many bytes the event (or skip) at the
+	 * provided position spans.
+	 */
+	static int span(final ByteBuffer ring, final int ringOffset, final int ringCapacity,
+			final long position) {
+		final int offset = (int) (position % ringCapacity);
+		final int remaining = ringCapacity - offset;
+		if (remaining < 2) {
+			return remaining;
+		}
+		final int length = ring.getShort(ringOffset + offset) & 0xFFFF;
+		return length == 0 ? remaining : length;
+	}
+
+	/**
+	 * Used internally, returns the string's dictionary id, adding it if needed.
+	 */
+	private static int intern(final String string) {
+		final Integer identifier = BinaryLog.stringsMap.get(string);
+		if (identifier != null) {
+			return identifier;
+		}
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		if ((bytes.length > 0xFFFF) || (BinaryLog.dictionaryCount >= BinaryLog.UNKNOWN_ID)
+				|| ((BinaryLog.dictionarySize + 2 + bytes.length) > BinaryLog.dictionaryCapacity)) {
+			return BinaryLog.UNKNOWN_ID;
+		}
+		final int position = BinaryLog.HEADER_SIZE + BinaryLog.dictionarySize;
+		BinaryLog.buffer.putShort(position, (short) bytes.length);
+		BinaryLog.buffer.put(position + 2, bytes);
+		BinaryLog.dictionarySize += 2 + bytes.length;
+		final int newIdentifier = BinaryLog.dictionaryCount;
+		BinaryLog.dictionaryCount += 1;
+		// Published after the string itself
+		BinaryLog.buffer.putInt(BinaryLog.DICTIONARY_SIZE_OFFSET, BinaryLog.dictionarySize);
+		BinaryLog.buffer.putInt(BinaryLog.DICTIONARY_COUNT_OFFSET, BinaryLog.dictionaryCount);
+		BinaryLog.stringsMap.put(string, newIdentifier);
+		return newIdentifier;
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static byte typeOf(final Object arg) {
+		if (arg == null) {
+			return BinaryLog.NULL;
+		} else if ((arg instanceof Integer) || (arg instanceof Short) || (arg instanceof Byte)) {
+			return BinaryLog.INT;
+		} else if (arg instanceof Long) {
+			return BinaryLog.LONG;
+		} else if (arg instanceof Float) {
+			return BinaryLog.FLOAT;
+		} else if (arg instanceof Double) {
+			return BinaryLog.DOUBLE;
+		} else if (arg instanceof Boolean) {
+			return BinaryLog.BOOLEAN;
+		} else {
+			return BinaryLog.STRING;
+		}
+	}
+
+	/**
+	 * Used internally, size of the value without its type (& length for strings).
+	 */
+	private static int sizeOf(final Object arg) {
+		switch (BinaryLog.typeOf(arg)) {
+		case INT:
+		case FLOAT:
+			return 4;
+		case LONG:
+		case DOUBLE:
+			return 8;
+		case BOOLEAN:
+			return 1;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static byte[] encode(final Object arg) {
+		final String string = arg.toString();
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length <= BinaryLog.MAXIMUM_STRING_LENGTH) {
+			return bytes;
+		}
+		return string.substring(0, BinaryLog.MAXIMUM_STRING_LENGTH / 4).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Used internally, writes a typed argument & returns the position after it.
+	 */
+	private static int put(final int position, final Object arg, final byte[] string) {
+		final byte type = BinaryLog.typeOf(arg);
+		BinaryLog.buffer.put(position, type);
+		switch (type) {
+		case INT:
+			BinaryLog.buffer.putInt(position + 1, ((Number) arg).intValue());
+			return position + 5;
+		case LONG:
+			BinaryLog.buffer.putLong(position + 1, (Long) arg);
+			return position + 9;
+		case FLOAT:
+			BinaryLog.buffer.putFloat(position + 1, (Float) arg);
+			return position + 5;
+		case DOUBLE:
+			BinaryLog.buffer.putDouble(position + 1, (Double) arg);
+			return position + 9;
+		case BOOLEAN:
+			BinaryLog.buffer.put(position + 1, (byte) ((Boolean) arg ? 1 : 0));
+			return position + 2;
+		case STRING:
+			BinaryLog.buffer.putShort(position + 1, (short) string.length);
+			BinaryLog.buffer.put(position + 3, string);
+			return position + 3 + string.length;
+		default:
+			return position + 1;
+		}
+	}
+}
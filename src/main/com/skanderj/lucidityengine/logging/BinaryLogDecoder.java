@@ -0,0 +1,202 @@
+package com.skanderj.lucidityengine.logging;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.List;
+
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+
+/**
+ * Offline tool rendering a {@link BinaryLog} file back to text (as the
+ * {@link Logger} would have written it) or CSV, oldest event first. Prints to
+ * the standard output.
+ *
+ * <pre>
+ * java com.skanderj.lucidityengine.logging.BinaryLogDecoder logs/events.bin [text|csv]
+ * </pre>
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class BinaryLogDecoder {
+	private BinaryLogDecoder() {
+		return;
+	}
+
+	// Same format as the text logs, with milliseconds
+	private static final DateTimeFormatter TEXT_DATE_FORMAT = DateTimeFormatter.ofPattern("'['hh:mm:ss.SSS']'");
+
+	/**
+	 * Decodes the provided file. Returns true if successful, false otherwise.
+	 */
+	public static boolean decode(final String path, final boolean csv, final PrintStream output) {
+		final ByteBuffer buffer;
+		try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+		} catch (final IOException exception) {
+			Logger.log(BinaryLogDecoder.class, LogLevel.SEVERE, "Could not read binary log %s: %s", path,
+					exception.getMessage());
+			return false;
+		}
+		if ((buffer.capacity() < BinaryLog.HEADER_SIZE) || (buffer.getInt(0) != BinaryLog.MAGIC)) {
+			Logger.log(BinaryLogDecoder.class, LogLevel.SEVERE, "%s isn't a binary log", path);
+			return false;
+		}
+		if (buffer.getInt(4) != BinaryLog.VERSION) {
+			Logger.log(BinaryLogDecoder.class, LogLevel.SEVERE, "Unsupported binary log version: %d",
+					buffer.getInt(4));
+			return false;
+		}
+		final long baseTime = buffer.getLong(8), baseNanoTime = buffer.getLong(16);
+		final int dictionaryCapacity = buffer.getInt(24), ringCapacity = buffer.getInt(32);
+		final int ringOffset = BinaryLog.HEADER_SIZE + dictionaryCapacity;
+		final List<String> dictionary = BinaryLogDecoder.readDictionary(buffer,
+				buffer.getInt(BinaryLog.DICTIONARY_COUNT_OFFSET));
+		final long next = buffer.getLong(BinaryLog.NEXT_OFFSET);
+		final LogLevel[] levels = LogLevel.values();
+		if (csv) {
+			output.println("timestamp,level,origin,template,message");
+		}
+		long position = buffer.getLong(BinaryLog.OLDEST_OFFSET);
+		while (position < next) {
+			final int span = BinaryLog.span(buffer, ringOffset, ringCapacity, position);
+			final int offset = ringOffset + (int) (position % ringCapacity);
+			position += span;
+			if ((span < BinaryLog.EVENT_HEADER_SIZE) || ((buffer.getShort(offset) & 0xFFFF) == 0)) {
+				continue;
+			}
+			final long timestamp = (baseTime * 1_000_000L) + (buffer.getLong(offset + 2) - baseNanoTime);
+			final LogLevel logLevel = levels[buffer.get(offset + 10)];
+			final String origin = BinaryLogDecoder.lookUp(dictionary, buffer.getShort(offset + 11) & 0xFFFF);
+			final String template = BinaryLogDecoder.lookUp(dictionary, buffer.getShort(offset + 13) & 0xFFFF);
+			final Object[] args = BinaryLogDecoder.readArguments(buffer, offset + BinaryLog.EVENT_HEADER_SIZE,
+					buffer.get(offset + 15) & 0xFF);
+			final String message = BinaryLogDecoder.format(template, args);
+			final Instant instant = Instant.ofEpochSecond(0, timestamp);
+			if (csv) {
+				output.printf("%s,%s,%s,%s,%s%n", instant, logLevel.name(), BinaryLogDecoder.escape(origin),
+						BinaryLogDecoder.escape(template), BinaryLogDecoder.escape(message));
+			} else {
+				output.printf("%s [%s / %s]: %s%n",
+						BinaryLogDecoder.TEXT_DATE_FORMAT.format(LocalTime.ofInstant(instant, ZoneId.systemDefault())),
+						origin, logLevel.name(), message);
+			}
+		}
+		output.flush();
+		return true;
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static List<String> readDictionary(final ByteBuffer buffer, final int count) {
+		final List<String> dictionary = new ArrayList<>(count);
+		int position = BinaryLog.HEADER_SIZE;
+		for (int index = 0; index < count; index += 1) {
+			final int length = buffer.getShort(position) & 0xFFFF;
+			final byte[] bytes = new byte[length];
+			buffer.get(position + 2, bytes);
+			dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+			position += 2 + length;
+		}
+		return dictionary;
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static String lookUp(final List<String> dictionary, final int identifier) {
+		return identifier < dictionary.size() ? dictionary.get(identifier) : "?";
+	}
+
+	/**
+	 * Used internally, reads back the typed arguments.
+	 */
+	private static Object[] readArguments(final ByteBuffer buffer, final int offset, final int count) {
+		final Object[] args = new Object[count];
+		int position = offset;
+		for (int index = 0; index < count; index += 1) {
+			final byte type = buffer.get(position);
+			position += 1;
+			switch (type) {
+			case BinaryLog.INT:
+				args[index] = buffer.getInt(position);
+				position += 4;
+				break;
+			case BinaryLog.LONG:
+				args[index] = buffer.getLong(position);
+				position += 8;
+				break;
+			case BinaryLog.FLOAT:
+				args[index] = buffer.getFloat(position);
+				position += 4;
+				break;
+			case BinaryLog.DOUBLE:
+				args[index] = buffer.getDouble(position);
+				position += 8;
+				break;
+			case BinaryLog.BOOLEAN:
+				args[index] = buffer.get(position) != 0;
+				position += 1;
+				break;
+			case BinaryLog.STRING:
+				final int length = buffer.getShort(position) & 0xFFFF;
+				final byte[] bytes = new byte[length];
+				buffer.get(position + 2, bytes);
+				args[index] = new String(bytes, StandardCharsets.UTF_8);
+				position += 2 + length;
+				break;
+			default:
+				args[index] = null;
+				break;
+			}
+		}
+		return args;
+	}
+
+	/**
+	 * Used internally, falls back to the template followed by the arguments if
+	 * they don't match it.
+	 */
+	private static String format(final String template, final Object[] args) {
+		if (args.length == 0) {
+			return template;
+		}
+		try {
+			return String.format(template, args);
+		} catch (final IllegalFormatException exception) {
+			return template + " " + Arrays.toString(args);
+		}
+	}
+
+	/**
+	 * Used internally, quotes a CSV field.
+	 */
+	private static String escape(final String field) {
+		return "\"" + field.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Command line entry point.
+	 */
+	public static void main(final String[] args) {
+		if ((args.length < 1) || (args.length > 2)
+				|| ((args.length == 2) && !args[1].equals("text") && !args[1].equals("csv"))) {
+			Logger.log(BinaryLogDecoder.class, LogLevel.SEVERE, "Usage: BinaryLogDecoder <binary log> [text|csv]");
+			System.exit(1);
+		}
+		final boolean csv = (args.length == 2) && args[1].equals("csv");
+		System.exit(BinaryLogDecoder.decode(args[0], csv, System.out) ? 0 : 1);
+	}
+}
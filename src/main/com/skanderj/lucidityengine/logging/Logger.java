@@ -1,21 +1,30 @@
 package com.skanderj.lucidityengine.logging;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 import com.skanderj.lucidityengine.core.Engine;
 
 /**
  * A class used for custom logging purposes. Features: system streams
  * redirection, (TODO) custom severity levels, process exiting when hitting a
- * fatal error (TODO make it toggleable), and much more.
+ * fatal error (TODO make it toggleable), asynchronous logging off the calling
+ * threads & much more.
  *
  * @author Skander Jeddi
  *
@@ -29,15 +38,35 @@ public final class Logger {
 	private final static PrintStream DEFAULT_SYSTEM_ERROR_OUTPUT = System.err;
 
 	// Date and time format, #TODO make it customizable
-	private final static SimpleDateFormat LOG_DATE_FORMAT = new SimpleDateFormat("[hh:mm:ss]");
+	private final static DateTimeFormatter LOG_DATE_FORMAT = DateTimeFormatter.ofPattern("'['hh:mm:ss']'");
+	// Display names of the classes logging, resolved once
+	private static final Map<Class<?>, String> originsMap = new ConcurrentHashMap<>();
+	// Lowest level logged by class, only looked up once a level is set
+	private static final Map<Class<?>, LogLevel> levelsMap = new ConcurrentHashMap<>();
+	private static volatile boolean levelsConfigured = false;
 
 	// Redirection currentState
 	private static boolean outputRedirected = false;
 
-	// Physical logging
-	private static final File LOG_FILE = new File(
-			"logs/" + new SimpleDateFormat("MM-dd-YYYY_hh-mm-ss").format(new Date()) + ".log");
-	private static BufferedWriter writer;
+	// Physical logging, rolled & compressed segments named after the launch time
+	private static final File LOG_DIRECTORY = new File("logs");
+	private static final String LOG_NAME = new SimpleDateFormat("MM-dd-YYYY_hh-mm-ss").format(new Date());
+	private static RollingFileWriter writer;
+	private static long logFileMaximumSize = RollingFileWriter.DEFAULT_MAXIMUM_SIZE,
+			logFileMaximumAge = RollingFileWriter.DEFAULT_MAXIMUM_AGE,
+			logFileSyncInterval = RollingFileWriter.DEFAULT_SYNC_INTERVAL;
+	private static int logFileMaximumSegments = RollingFileWriter.DEFAULT_MAXIMUM_SEGMENTS;
+	// Held while writing, so messages don't interleave
+	private static final Object OUTPUT_LOCK = new Object();
+
+	// Asynchronous logging - a bounded ring of preallocated events, claimed by the
+	// logging threads & written by the logging thread, null when logging
+	// synchronously
+	public static final int DEFAULT_RING_CAPACITY = 8192;
+	private static volatile LogRing ring;
+	private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	private static final AtomicLong droppedEvents = new AtomicLong(0);
+	private static boolean shutdownHookAdded = false;
 
 	private Logger() {
 		return;
@@ -50,13 +79,8 @@ public final class Logger {
 		if (Logger.outputRedirected) {
 			return;
 		} else {
-			if (Logger.logToFile) {
-				Logger.LOG_FILE.getParentFile().mkdirs();
-				try {
-					Logger.writer = new BufferedWriter(new FileWriter(Logger.LOG_FILE));
-				} catch (final IOException ioException) {
-					Logger.log(Logger.class, LogLevel.SEVERE, "Coulnd't create log file! %s", ioException.getMessage());
-				}
+			if (Logger.logToFile && (Logger.writer == null)) {
+				Logger.openLogFile();
 			}
 			// Display the Gingerbread version message
 			Logger.log(Engine.class, LogLevel.INFO, "Lucidity Engine release %s - running on %s", Engine.RELEASE,
@@ -71,15 +95,15 @@ public final class Logger {
 			Logger.developmentDebug = false;
 			Logger.log(Logger.class, LogLevel.INFO, "Disabled all debug messages");
 			if (Logger.logToFile) {
-				Logger.log(Logger.class, LogLevel.INFO, "Logging to %s!", Logger.LOG_FILE.getPath());
+				Logger.log(Logger.class, LogLevel.INFO, "Logging to %s!", Logger.writer.currentFile().getPath());
 			}
 		}
 	}
 
 	public static void cleanUp() {
+		Logger.disableAsynchronousLogging();
 		if (Logger.logToFile) {
 			try {
-				Logger.writer.flush();
 				Logger.writer.close();
 			} catch (final IOException ioException) {
 				Logger.log(Logger.class, LogLevel.FATAL, "Could not write log to log file! (%s)",
@@ -90,48 +114,405 @@ public final class Logger {
 
 	/**
 	 * Self explanatory. A FATAL log level will exit all processes. The "message"
-	 * string will be formatted with the "args" parameter.
+	 * string will be formatted with the "args" parameter - on the logging thread
+	 * if asynchronous logging is enabled, so arguments shouldn't be modified
+	 * afterwards. Nothing is formatted if the level is disabled for the class, but
+	 * the arguments array is still created: use the overloads below or
+	 * {@link #isEnabled(Class, LogLevel)} on hot paths.
 	 */
 	public static void log(final Class<?> clazz, final LogLevel logLevel, final String message, final Object... args) {
-		String origin = new String();
-		if (clazz.getEnclosingClass() != null) {
-			origin = clazz.getEnclosingClass().getSimpleName() + "#" + clazz.getSimpleName();
-		} else {
-			origin = clazz.getSimpleName();
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message, args);
 		}
-		String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(new Date()) + " [" + origin + " / "
-				+ logLevel.name() + "]: " + message + "\n", args);
-		if ((logLevel == LogLevel.SEVERE) || (logLevel == LogLevel.ERROR) || (logLevel == LogLevel.FATAL)) {
-			Logger.DEFAULT_SYSTEM_ERROR_OUTPUT.printf(finalMessage);
-		} else {
-			if (logLevel == LogLevel.DEBUG) {
-				if (Logger.debug) {
-					Logger.DEFAULT_SYSTEM_OUTPUT.printf(finalMessage);
-				}
-			} else if (logLevel == LogLevel.DEVELOPMENT) {
-				if (Logger.developmentDebug) {
-					Logger.DEFAULT_SYSTEM_OUTPUT.printf(finalMessage);
-				}
-			} else {
-				Logger.DEFAULT_SYSTEM_OUTPUT.printf(finalMessage);
+	}
+
+	/**
+	 * Self explanatory. Allocates nothing if the level is disabled for the class.
+	 */
+	public static void log(final Class<?> clazz, final LogLevel logLevel, final String message) {
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message, null);
+		}
+	}
+
+	/**
+	 * Self explanatory. Allocates nothing if the level is disabled for the class
+	 * (besides boxing primitive arguments).
+	 */
+	public static void log(final Class<?> clazz, final LogLevel logLevel, final String message, final Object arg) {
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message, new Object[] { arg });
+		}
+	}
+
+	/**
+	 * Self explanatory. Allocates nothing if the level is disabled for the class
+	 * (besides boxing primitive arguments).
+	 */
+	public static void log(final Class<?> clazz, final LogLevel logLevel, final String message, final Object firstArg,
+			final Object secondArg) {
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message, new Object[] { firstArg, secondArg });
+		}
+	}
+
+	/**
+	 * Self explanatory. Allocates nothing if the level is disabled for the class
+	 * (besides boxing primitive arguments).
+	 */
+	public static void log(final Class<?> clazz, final LogLevel logLevel, final String message, final Object firstArg,
+			final Object secondArg, final Object thirdArg) {
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message, new Object[] { firstArg, secondArg, thirdArg });
+		}
+	}
+
+	/**
+	 * Self explanatory. The message is only built if the level is enabled for the
+	 * class, a non capturing supplier allocates nothing otherwise.
+	 */
+	public static void log(final Class<?> clazz, final LogLevel logLevel, final Supplier<String> message) {
+		if (Logger.isEnabled(clazz, logLevel)) {
+			Logger.dispatch(clazz, logLevel, message.get(), null);
+		}
+	}
+
+	/**
+	 * Whether messages of the provided level from the provided class are written
+	 * anywhere. Cheap enough to guard hot log statements with.
+	 */
+	public static boolean isEnabled(final Class<?> clazz, final LogLevel logLevel) {
+		return (logLevel == LogLevel.FATAL) || Logger.isPrinted(clazz, logLevel) || Logger.isFiled(clazz, logLevel);
+	}
+
+	/**
+	 * Sets the lowest level logged from the provided class, replacing the debug
+	 * toggles for it - e.g. WARNING silences a chatty class while DEBUG shows its
+	 * debug messages only.
+	 */
+	public static void setLevel(final Class<?> clazz, final LogLevel minimumLevel) {
+		Logger.levelsMap.put(clazz, minimumLevel);
+		Logger.levelsConfigured = true;
+	}
+
+	/**
+	 * Removes the provided class' level, the debug toggles apply again.
+	 */
+	public static void clearLevel(final Class<?> clazz) {
+		Logger.levelsMap.remove(clazz);
+		Logger.levelsConfigured = !Logger.levelsMap.isEmpty();
+	}
+
+	/**
+	 * Used internally, the level is enabled for the class.
+	 */
+	private static void dispatch(final Class<?> clazz, final LogLevel logLevel, final String message,
+			final Object[] args) {
+		final LogRing ring = Logger.ring;
+		if ((ring != null) && (logLevel != LogLevel.FATAL) && (Thread.currentThread() != ring.thread)
+				&& Logger.enqueue(ring, clazz, logLevel, message, args)) {
+			return;
+		}
+		if (logLevel == LogLevel.FATAL) {
+			Logger.flush();
+		}
+		final String finalMessage = Logger.format(System.currentTimeMillis(), clazz, logLevel, message, args);
+		synchronized (Logger.OUTPUT_LOCK) {
+			Logger.print(clazz, logLevel, finalMessage);
+			if (Logger.isFiled(clazz, logLevel)) {
+				Logger.append(finalMessage);
 			}
 		}
 		if (logLevel == LogLevel.FATAL) {
-			finalMessage = String.format(
-					Logger.LOG_DATE_FORMAT.format(new Date()) + " [" + Logger.class.getSimpleName() + " / "
-							+ LogLevel.FATAL.name()
-							+ "]: A fatal log has been submitted from %s.class, exiting all processes \n",
-					clazz.getSimpleName());
-			Logger.DEFAULT_SYSTEM_ERROR_OUTPUT.printf(finalMessage);
+			Logger.DEFAULT_SYSTEM_ERROR_OUTPUT.print(Logger.format(System.currentTimeMillis(), Logger.class,
+					LogLevel.FATAL, "A fatal log has been submitted from %s.class, exiting all processes",
+					new Object[] { clazz.getSimpleName() }));
 			Logger.cleanUp();
 			System.exit(-1);
 		}
-		if (Logger.logToFile) {
+	}
+
+	/**
+	 * Used internally, whether messages of the provided level reach the console.
+	 */
+	private static boolean isPrinted(final Class<?> clazz, final LogLevel logLevel) {
+		if (Logger.levelsConfigured) {
+			final LogLevel minimumLevel = Logger.levelsMap.get(clazz);
+			if (minimumLevel != null) {
+				return logLevel.severity >= minimumLevel.severity;
+			}
+		}
+		return Logger.isPrinted(logLevel);
+	}
+
+	/**
+	 * Used internally, whether messages of the provided level reach the log file.
+	 */
+	private static boolean isFiled(final Class<?> clazz, final LogLevel logLevel) {
+		if (!Logger.logToFile) {
+			return false;
+		}
+		if (Logger.levelsConfigured) {
+			final LogLevel minimumLevel = Logger.levelsMap.get(clazz);
+			return (minimumLevel == null) || (logLevel.severity >= minimumLevel.severity);
+		}
+		return true;
+	}
+
+	/**
+	 * Used internally, whether messages of the provided level reach the console
+	 * with the debug toggles.
+	 */
+	private static boolean isPrinted(final LogLevel logLevel) {
+		switch (logLevel) {
+		case DEBUG:
+			return Logger.debug;
+		case DEVELOPMENT:
+			return Logger.developmentDebug;
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static String format(final long timestamp, final Class<?> clazz, final LogLevel logLevel,
+			final String message, final Object[] args) {
+		final String origin = Logger.originsMap.computeIfAbsent(clazz,
+				key -> key.getEnclosingClass() != null
+						? key.getEnclosingClass().getSimpleName() + "#" + key.getSimpleName()
+						: key.getSimpleName());
+		final StringBuilder builder = new StringBuilder(64 + message.length());
+		Logger.LOG_DATE_FORMAT.formatTo(LocalTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()),
+				builder);
+		builder.append(" [").append(origin).append(" / ").append(logLevel.name()).append("]: ");
+		builder.append((args == null) || (args.length == 0) ? message : Logger.format(message, args));
+		return builder.append('\n').toString();
+	}
+
+	/**
+	 * Used internally, falls back to the message followed by the arguments if
+	 * they don't match it or can't be formatted.
+	 */
+	private static String format(final String message, final Object[] args) {
+		try {
+			return String.format(message, args);
+		} catch (final RuntimeException exception) {
+			return message + " " + Arrays.toString(args);
+		}
+	}
+
+	/**
+	 * Used internally, the caller holds the output lock.
+	 */
+	private static void print(final Class<?> clazz, final LogLevel logLevel, final String finalMessage) {
+		if (!Logger.isPrinted(clazz, logLevel) && (logLevel != LogLevel.FATAL)) {
+			return;
+		}
+		if ((logLevel == LogLevel.SEVERE) || (logLevel == LogLevel.ERROR) || (logLevel == LogLevel.FATAL)) {
+			Logger.DEFAULT_SYSTEM_ERROR_OUTPUT.print(finalMessage);
+		} else {
+			Logger.DEFAULT_SYSTEM_OUTPUT.print(finalMessage);
+		}
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static void append(final String finalMessage) {
+		try {
+			Logger.writer.append(finalMessage);
+		} catch (final IOException ioException) {
+			Logger.log(Logger.class, LogLevel.SEVERE, "Could not write log to log file! (%s)",
+					ioException.getMessage());
+		}
+	}
+
+	/**
+	 * Moves logging off the calling threads: log calls only copy their arguments
+	 * into a preallocated ring of events & a background thread formats & writes
+	 * them in batches. Fatal messages are still written right away, after every
+	 * pending one. Does nothing if already enabled.
+	 *
+	 * @param capacity       events in the ring, a power of two
+	 * @param overflowPolicy what happens when logging faster than the events are
+	 *                       written
+	 */
+	public static synchronized void enableAsynchronousLogging(final int capacity,
+			final OverflowPolicy overflowPolicy) {
+		if ((capacity < 2) || (Integer.bitCount(capacity) != 1)) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		if (Logger.ring != null) {
+			return;
+		}
+		final LogRing ring = new LogRing(capacity);
+		Logger.overflowPolicy = overflowPolicy;
+		Logger.ring = ring;
+		ring.thread.start();
+		if (!Logger.shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(Logger::disableAsynchronousLogging, "logger-shutdown"));
+			Logger.shutdownHookAdded = true;
+		}
+	}
+
+	/**
+	 * Self explanatory. Same as above, with {@link #DEFAULT_RING_CAPACITY} events
+	 * & {@link OverflowPolicy#BLOCK}.
+	 */
+	public static void enableAsynchronousLogging() {
+		Logger.enableAsynchronousLogging(Logger.DEFAULT_RING_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Writes every pending event & goes back to logging from the calling threads.
+	 * Does nothing if not enabled.
+	 */
+	public static synchronized void disableAsynchronousLogging() {
+		final LogRing ring = Logger.ring;
+		if (ring == null) {
+			return;
+		}
+		Logger.ring = null;
+		try {
+			ring.thread.join();
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static boolean isLoggingAsynchronously() {
+		return Logger.ring != null;
+	}
+
+	/**
+	 * Waits until every pending event is written, if logging asynchronously.
+	 */
+	public static void flush() {
+		final LogRing ring = Logger.ring;
+		if ((ring == null) || (Thread.currentThread() == ring.thread)) {
+			return;
+		}
+		final long target = ring.claimedSequence.get();
+		while ((ring.writtenSequence < target) && ring.thread.isAlive()) {
+			LockSupport.parkNanos(100_000);
+		}
+	}
+
+	/**
+	 * @return how many events were dropped because the ring was full
+	 */
+	public static long droppedEvents() {
+		return Logger.droppedEvents.get();
+	}
+
+	/**
+	 * Used internally, claims the next event of the ring & fills it. Returns false
+	 * if the ring was closed in the meantime, the caller then writes the message
+	 * itself.
+	 */
+	private static boolean enqueue(final LogRing ring, final Class<?> clazz, final LogLevel logLevel,
+			final String message, final Object[] args) {
+		long sequence;
+		while (true) {
+			sequence = ring.claimedSequence.get();
+			if (sequence == LogRing.CLOSED) {
+				return false;
+			}
+			if ((sequence - ring.writtenSequence) >= ring.events.length) {
+				if (Logger.overflowPolicy == OverflowPolicy.DROP) {
+					Logger.droppedEvents.incrementAndGet();
+					return true;
+				}
+				LockSupport.parkNanos(50_000);
+				continue;
+			}
+			if (ring.claimedSequence.compareAndSet(sequence, sequence + 1)) {
+				break;
+			}
+		}
+		final LogEvent event = ring.events[(int) (sequence & (ring.events.length - 1))];
+		event.timestamp = System.currentTimeMillis();
+		event.clazz = clazz;
+		event.logLevel = logLevel;
+		event.message = message;
+		event.args = args;
+		event.sequence = sequence;
+		return true;
+	}
+
+	/**
+	 * Used internally by the logging thread, writes the published events in
+	 * batches until asynchronous logging is disabled & the ring is empty. The
+	 * ring is then closed, so no event can be claimed after the loop stopped.
+	 */
+	private static void writeLoop(final LogRing ring) {
+		final StringBuilder output = new StringBuilder(), errorOutput = new StringBuilder(),
+				fileOutput = new StringBuilder();
+		long next = 0;
+		while ((Logger.ring == ring) || (next < ring.claimedSequence.get())
+				|| !ring.claimedSequence.compareAndSet(next, LogRing.CLOSED)) {
+			final LogEvent event = ring.events[(int) (next & (ring.events.length - 1))];
+			if (event.sequence != next) {
+				Logger.writeBatch(output, errorOutput, fileOutput);
+				LockSupport.parkNanos(1_000_000);
+				continue;
+			}
 			try {
-				Logger.writer.append(finalMessage);
-			} catch (final IOException ioException) {
-				Logger.log(Logger.class, LogLevel.SEVERE, "Could not write log to log file! (%s)",
-						ioException.getMessage());
+				final String finalMessage = Logger.format(event.timestamp, event.clazz, event.logLevel,
+						event.message, event.args);
+				if (Logger.isPrinted(event.clazz, event.logLevel)) {
+					if ((event.logLevel == LogLevel.SEVERE) || (event.logLevel == LogLevel.ERROR)) {
+						errorOutput.append(finalMessage);
+					} else {
+						output.append(finalMessage);
+					}
+				}
+				if (Logger.isFiled(event.clazz, event.logLevel)) {
+					fileOutput.append(finalMessage);
+				}
+			} catch (final RuntimeException exception) {
+				// Not even the fallback could be formatted, report the template instead
+				errorOutput.append(Logger.format(event.timestamp, Logger.class, LogLevel.ERROR,
+						"Could not format log message \"%s\" (%s)", new Object[] { event.message, exception }));
+			}
+			event.clazz = null;
+			event.message = null;
+			event.args = null;
+			next += 1;
+			ring.writtenSequence = next;
+			if ((output.length() + errorOutput.length() + fileOutput.length()) > 65536) {
+				Logger.writeBatch(output, errorOutput, fileOutput);
+			}
+		}
+		Logger.writeBatch(output, errorOutput, fileOutput);
+		final long dropped = Logger.droppedEvents.get();
+		if (dropped > 0) {
+			Logger.log(Logger.class, LogLevel.WARNING, "%d log events were dropped", dropped);
+		}
+	}
+
+	/**
+	 * Used internally by the logging thread.
+	 */
+	private static void writeBatch(final StringBuilder output, final StringBuilder errorOutput,
+			final StringBuilder fileOutput) {
+		synchronized (Logger.OUTPUT_LOCK) {
+			if (output.length() > 0) {
+				Logger.DEFAULT_SYSTEM_OUTPUT.print(output);
+				output.setLength(0);
+			}
+			if (errorOutput.length() > 0) {
+				Logger.DEFAULT_SYSTEM_ERROR_OUTPUT.print(errorOutput);
+				errorOutput.setLength(0);
+			}
+			if ((fileOutput.length() > 0) && (Logger.writer != null)) {
+				Logger.append(fileOutput.toString());
+				fileOutput.setLength(0);
 			}
 		}
 	}
@@ -156,14 +537,42 @@ public final class Logger {
 
 	public static void toggleLoggingToFile() {
 		Logger.logToFile = !Logger.logToFile;
-		if (Logger.logToFile && (Logger.writer == null)) {
-			Logger.LOG_FILE.getParentFile().mkdirs();
-			try {
-				Logger.writer = new BufferedWriter(new FileWriter(Logger.LOG_FILE));
-			} catch (final IOException ioException) {
-				Logger.log(Logger.class, LogLevel.SEVERE, "Coulnd't create log file! %s", ioException.getMessage());
-			}
-			Logger.log(Logger.class, LogLevel.INFO, "Logging to %s!", Logger.LOG_FILE.getPath());
+		if (Logger.logToFile && (Logger.writer == null) && Logger.openLogFile()) {
+			Logger.log(Logger.class, LogLevel.INFO, "Logging to %s!", Logger.writer.currentFile().getPath());
+		}
+	}
+
+	/**
+	 * Sets how log files are rolled & synced, see {@link RollingFileWriter}. Sizes
+	 * are in bytes, durations in milliseconds.
+	 */
+	public static synchronized void configureLogFiles(final long maximumSize, final long maximumAge,
+			final int maximumSegments, final long syncInterval) {
+		Logger.logFileMaximumSize = maximumSize;
+		Logger.logFileMaximumAge = maximumAge;
+		Logger.logFileMaximumSegments = maximumSegments;
+		Logger.logFileSyncInterval = syncInterval;
+		if (Logger.writer != null) {
+			Logger.writer.setRollingPolicy(maximumSize, maximumAge, maximumSegments);
+			Logger.writer.setSyncInterval(syncInterval);
+		}
+	}
+
+	/**
+	 * Used internally. Returns true if successful, false otherwise.
+	 */
+	private static synchronized boolean openLogFile() {
+		try {
+			final RollingFileWriter fileWriter = new RollingFileWriter(Logger.LOG_DIRECTORY, Logger.LOG_NAME);
+			fileWriter.setRollingPolicy(Logger.logFileMaximumSize, Logger.logFileMaximumAge,
+					Logger.logFileMaximumSegments);
+			fileWriter.setSyncInterval(Logger.logFileSyncInterval);
+			Logger.writer = fileWriter;
+			return true;
+		} catch (final IOException ioException) {
+			Logger.log(Logger.class, LogLevel.SEVERE, "Coulnd't create log file! %s", ioException.getMessage());
+			Logger.logToFile = false;
+			return false;
 		}
 	}
 
@@ -173,7 +582,15 @@ public final class Logger {
 	 *
 	 */
 	public enum LogLevel {
-		INFO, DEBUG, DEVELOPMENT, IGNORE, IGNORE_UNLESS_REPEATED, WARNING, SEVERE, ERROR, FATAL;
+		INFO(3), DEBUG(1), DEVELOPMENT(0), IGNORE(2), IGNORE_UNLESS_REPEATED(2), WARNING(4), SEVERE(5), ERROR(6),
+		FATAL(7);
+
+		// Used to compare levels, see setLevel(Class, LogLevel)
+		private final int severity;
+
+		private LogLevel(final int severity) {
+			this.severity = severity;
+		}
 	}
 
 	/**
@@ -185,6 +602,64 @@ public final class Logger {
 		CLASSIC, DEVELOPMENT;
 	}
 
+	/**
+	 * What a log call does when the asynchronous ring is full.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	public enum OverflowPolicy {
+		// Waits for the logging thread to make room
+		BLOCK,
+		// Discards the message, counted in droppedEvents()
+		DROP;
+	}
+
+	/**
+	 * The asynchronous ring, its sequences & its logging thread. A new one is
+	 * created every time asynchronous logging is enabled, so a late log call can
+	 * never claim an event of another ring.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class LogRing {
+		// Claimed sequence once the logging thread stopped
+		private static final long CLOSED = -1;
+
+		private final LogEvent[] events;
+		private final AtomicLong claimedSequence;
+		private volatile long writtenSequence;
+		private final Thread thread;
+
+		private LogRing(final int capacity) {
+			this.events = new LogEvent[capacity];
+			for (int index = 0; index < capacity; index += 1) {
+				this.events[index] = new LogEvent();
+			}
+			this.claimedSequence = new AtomicLong(0);
+			this.writtenSequence = 0;
+			this.thread = new Thread(() -> Logger.writeLoop(this), "logger");
+			this.thread.setDaemon(true);
+		}
+	}
+
+	/**
+	 * A preallocated slot of the asynchronous ring.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class LogEvent {
+		private long timestamp;
+		private Class<?> clazz;
+		private LogLevel logLevel;
+		private String message;
+		private Object[] args;
+		// Sequence of the event held, written last to publish it
+		private volatile long sequence = -1;
+	}
+
 	/**
 	 * Custom print streams for when redirection hasn't happened yet.
 	 *
@@ -204,7 +679,7 @@ public final class Logger {
 		 */
 		@Override
 		public PrintStream printf(final String format, final Object... args) {
-			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(new Date()) + " [? / ?]: " + format,
+			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(LocalTime.now()) + " [? / ?]: " + format,
 					args);
 			if (Logger.logToFile) {
 				try {
@@ -222,7 +697,7 @@ public final class Logger {
 		 */
 		@Override
 		public PrintStream printf(final Locale l, final String format, final Object... args) {
-			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(new Date()) + " [? / ?]: " + format,
+			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(LocalTime.now()) + " [? / ?]: " + format,
 					args);
 			if (Logger.logToFile) {
 				try {
@@ -240,7 +715,7 @@ public final class Logger {
 		 */
 		@Override
 		public void print(final Object obj) {
-			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(new Date()) + " [? / ?]: " + obj);
+			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(LocalTime.now()) + " [? / ?]: " + obj);
 			if (Logger.logToFile) {
 				try {
 					Logger.writer.append(finalMessage);
@@ -321,7 +796,7 @@ public final class Logger {
 		 */
 		@Override
 		public void println(final Object x) {
-			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(new Date()) + " [? / ?]: " + x);
+			final String finalMessage = String.format(Logger.LOG_DATE_FORMAT.format(LocalTime.now()) + " [? / ?]: " + x);
 			if (Logger.logToFile) {
 				try {
 					Logger.writer.append(finalMessage);
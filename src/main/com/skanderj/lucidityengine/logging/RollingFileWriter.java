@@ -0,0 +1,325 @@
+package com.skanderj.lucidityengine.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@link Logger}'s file sink: writes to "name.log" & rolls it over once it
+ * gets too big or too old. Rolled segments are gzipped by a background thread
+ * & only the most recent ones are kept - counting the ones left in the directory
+ * by previous runs - so a long running application uses a bounded amount of
+ * disk. Segments are numbered across runs & the file left by the previous run
+ * is rolled over on startup, so the last lines before a crash are kept. The
+ * same thread flushes & syncs the file to the disk on a fixed cadence, so a
+ * crash loses at most that much of the log & writing never waits on the disk.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class RollingFileWriter extends Writer {
+	// Defaults: 8 MB or an hour per segment, 10 segments kept, synced every second
+	public static final long DEFAULT_MAXIMUM_SIZE = 8L * 1024 * 1024, DEFAULT_MAXIMUM_AGE = 3600000,
+			DEFAULT_SYNC_INTERVAL = 1000;
+	public static final int DEFAULT_MAXIMUM_SEGMENTS = 10;
+
+	private final File directory;
+	private final String name;
+	// Rolling policy
+	private volatile long maximumSize, maximumAge;
+	private volatile int maximumSegments;
+	// Current segment, only changed while holding the writer's lock
+	private FileOutputStream stream;
+	private BufferedWriter writer;
+	// Size of the current segment in bytes, once encoded
+	private long segmentSize, segmentStart;
+	private int segmentIndex;
+	// Compressed segments, oldest first, including the previous runs' - only
+	// touched by the background thread once constructed. A segment whose
+	// compression failed is still pruned through its compressed file's name
+	private final Deque<File> segments;
+	// Rolled segments' names, compressed or not
+	private final Pattern segmentPattern;
+	// Compression & syncing
+	private final ScheduledExecutorService background;
+	private ScheduledFuture<?> syncTask;
+	private boolean closed;
+
+	/**
+	 * Opens "directory/name.log". If the previous run left it behind it's rolled
+	 * over first, or appended to if that fails.
+	 */
+	public RollingFileWriter(final File directory, final String name) throws IOException {
+		this.directory = directory;
+		this.name = name;
+		this.maximumSize = RollingFileWriter.DEFAULT_MAXIMUM_SIZE;
+		this.maximumAge = RollingFileWriter.DEFAULT_MAXIMUM_AGE;
+		this.maximumSegments = RollingFileWriter.DEFAULT_MAXIMUM_SEGMENTS;
+		this.segmentIndex = 0;
+		this.segments = new ArrayDeque<>();
+		this.segmentPattern = Pattern.compile(Pattern.quote(name) + "\\.(\\d{1,9})\\.log(\\.gz)?");
+		this.closed = false;
+		this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "log-files");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.directory.mkdirs();
+		this.scanSegments();
+		final File previousFile = this.currentFile();
+		if (previousFile.length() > 0) {
+			synchronized (this.lock) {
+				this.open(true);
+				this.roll();
+			}
+		} else {
+			this.open(false);
+		}
+		this.setSyncInterval(RollingFileWriter.DEFAULT_SYNC_INTERVAL);
+		this.background.execute(this::prune);
+	}
+
+	/**
+	 * Used internally, finds the segments left by the previous runs: numbering
+	 * carries on after the highest one & the ones which weren't compressed
+	 * (the run died first or compressing failed) are compressed again.
+	 */
+	private void scanSegments() {
+		final Map<Integer, File> uncompressedSegments = new TreeMap<>();
+		final Map<Integer, File> compressedSegments = new TreeMap<>();
+		final File[] files = this.directory.listFiles();
+		if (files != null) {
+			for (final File file : files) {
+				final Matcher matcher = this.segmentPattern.matcher(file.getName());
+				if (matcher.matches()) {
+					final int index = Integer.parseInt(matcher.group(1));
+					(matcher.group(2) == null ? uncompressedSegments : compressedSegments).put(index,
+							new File(this.directory, this.name + "." + index + ".log.gz"));
+					this.segmentIndex = Math.max(this.segmentIndex, index);
+				}
+			}
+		}
+		compressedSegments.putAll(uncompressedSegments);
+		this.segments.addAll(compressedSegments.values());
+		for (final File compressedSegment : uncompressedSegments.values()) {
+			this.background.execute(() -> this.compress(RollingFileWriter.uncompressed(compressedSegment)));
+		}
+	}
+
+	/**
+	 * Used internally, the rolled segment a compressed one was made from.
+	 */
+	private static File uncompressed(final File compressedSegment) {
+		final String path = compressedSegment.getPath();
+		return new File(path.substring(0, path.length() - ".gz".length()));
+	}
+
+	/**
+	 * Self explanatory. A segment is rolled once it reaches either limit.
+	 */
+	public void setRollingPolicy(final long maximumSize, final long maximumAge, final int maximumSegments) {
+		if ((maximumSize <= 0) || (maximumAge <= 0) || (maximumSegments < 0)) {
+			throw new IllegalArgumentException("Rolling policy not valid");
+		}
+		this.maximumSize = maximumSize;
+		this.maximumAge = maximumAge;
+		this.maximumSegments = maximumSegments;
+	}
+
+	/**
+	 * How often the file is flushed & synced to the disk, in milliseconds.
+	 */
+	public synchronized void setSyncInterval(final long syncInterval) {
+		if (syncInterval <= 0) {
+			throw new IllegalArgumentException("Sync interval not valid: " + syncInterval);
+		}
+		if (this.syncTask != null) {
+			this.syncTask.cancel(false);
+		}
+		this.syncTask = this.background.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return the file currently written to
+	 */
+	public File currentFile() {
+		return new File(this.directory, this.name + ".log");
+	}
+
+	/**
+	 * Used internally, the caller holds the writer's lock.
+	 */
+	private void open(final boolean append) throws IOException {
+		this.stream = new FileOutputStream(this.currentFile(), append);
+		this.writer = new BufferedWriter(new OutputStreamWriter(this.stream, StandardCharsets.UTF_8));
+		this.segmentSize = 0;
+		this.segmentStart = System.currentTimeMillis();
+	}
+
+	@Override
+	public void write(final char[] buffer, final int offset, final int length) throws IOException {
+		synchronized (this.lock) {
+			if (this.closed) {
+				throw new IOException("log file closed");
+			}
+			if ((this.segmentSize >= this.maximumSize)
+					|| ((System.currentTimeMillis() - this.segmentStart) >= this.maximumAge)) {
+				this.roll();
+			}
+			this.writer.write(buffer, offset, length);
+			this.segmentSize += RollingFileWriter.encodedLength(buffer, offset, length);
+		}
+	}
+
+	/**
+	 * Used internally, how many bytes the characters take once encoded in UTF-8.
+	 */
+	private static int encodedLength(final char[] buffer, final int offset, final int length) {
+		int encodedLength = 0;
+		for (int index = offset; index < (offset + length); index += 1) {
+			final char character = buffer[index];
+			if (character < 0x80) {
+				encodedLength += 1;
+			} else if ((character < 0x800) || Character.isSurrogate(character)) {
+				// Each half of a surrogate pair counts for half of its 4 bytes
+				encodedLength += 2;
+			} else {
+				encodedLength += 3;
+			}
+		}
+		return encodedLength;
+	}
+
+	/**
+	 * Used internally, closes the current segment, renames it & starts a new one.
+	 * Compressing it is left to the background thread. If the segment can't be
+	 * renamed (another process has it open for example) it's reopened & writing
+	 * carries on: rolling is tried again once it has grown or aged by as much
+	 * again.
+	 */
+	private void roll() throws IOException {
+		this.writer.close();
+		final File segment = new File(this.directory, this.name + "." + (this.segmentIndex + 1) + ".log");
+		if (!this.currentFile().renameTo(segment)) {
+			this.open(true);
+			Logger.log(RollingFileWriter.class, Logger.LogLevel.WARNING, "Could not roll %s over to %s",
+					this.currentFile(), segment);
+			return;
+		}
+		this.segmentIndex += 1;
+		this.open(false);
+		this.background.execute(() -> this.compress(segment));
+	}
+
+	/**
+	 * Used internally by the background thread, gzips a rolled segment & deletes
+	 * the oldest ones.
+	 */
+	private void compress(final File segment) {
+		final File compressedSegment = new File(segment.getPath() + ".gz");
+		try (InputStream input = new FileInputStream(segment);
+				FileOutputStream output = new FileOutputStream(compressedSegment)) {
+			final GZIPOutputStream compressedOutput = new GZIPOutputStream(output);
+			input.transferTo(compressedOutput);
+			compressedOutput.finish();
+			output.getChannel().force(false);
+		} catch (final IOException exception) {
+			Logger.log(RollingFileWriter.class, Logger.LogLevel.ERROR, "Could not compress %s: %s", segment,
+					exception.getMessage());
+			return;
+		}
+		segment.delete();
+		if (!this.segments.contains(compressedSegment)) {
+			this.segments.addLast(compressedSegment);
+		}
+		this.prune();
+	}
+
+	/**
+	 * Used internally by the background thread, deletes the oldest segments &
+	 * what's left of them if they couldn't be compressed.
+	 */
+	private void prune() {
+		while (this.segments.size() > this.maximumSegments) {
+			final File compressedSegment = this.segments.removeFirst();
+			compressedSegment.delete();
+			RollingFileWriter.uncompressed(compressedSegment).delete();
+		}
+	}
+
+	/**
+	 * Used internally by the background thread. Only the flush holds the lock,
+	 * syncing runs concurrently with writing.
+	 */
+	private void sync() {
+		final FileChannel channel;
+		synchronized (this.lock) {
+			if (this.closed) {
+				return;
+			}
+			try {
+				this.writer.flush();
+			} catch (final IOException exception) {
+				return;
+			}
+			channel = this.stream.getChannel();
+		}
+		try {
+			channel.force(false);
+		} catch (final IOException exception) {
+			// The segment was rolled in the meantime, it's synced once compressed
+			return;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		synchronized (this.lock) {
+			if (!this.closed) {
+				this.writer.flush();
+			}
+		}
+	}
+
+	/**
+	 * Flushes, syncs & closes the current segment, then waits for the pending
+	 * compressions.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this.lock) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			this.writer.flush();
+			this.stream.getChannel().force(false);
+			this.writer.close();
+		}
+		this.background.shutdown();
+		try {
+			this.background.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,340 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+/**
+ * A read-only view over a pack file baked by {@link AssetPacker}. The whole
+ * file is memory-mapped when opened but only the index is read: an asset is
+ * materialized from the mapped bytes when it's asked for, without any decoding
+ * since images & audio are stored decoded. See
+ * {@link Images#load(String, AssetPack, String)},
+ * {@link Fonts#load(String, AssetPack, String)},
+ * {@link com.skanderj.lucidityengine.resources.audio.Audios#load(String, AssetPack, String)}
+ * &
+ * {@link com.skanderj.lucidityengine.locale.Locales#loadLanguage(com.skanderj.lucidityengine.locale.Locales.Locale, AssetPack)}.
+ *
+ * <pre>
+ * pack   := MAGIC VERSION entriesCount entry* data
+ * entry  := name (modified UTF-8) type (byte) offset (long, from the start of data) length (long)
+ * IMAGE  := width (int) height (int) transparency (int) ARGB pixels (int*)
+ * AUDIO  := encoding (UTF) sampleRate (float) sampleSizeInBits (int) channels (int)
+ *           frameSize (int) frameRate (float) bigEndian (boolean) PCM bytes
+ * LOCALE := pairsCount (int) (key (UTF) value (UTF))*
+ * FONT, RAW := file bytes
+ * </pre>
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class AssetPack {
+	// "LPAK"
+	public static final int MAGIC = 0x4C50414B;
+	public static final int VERSION = 1;
+
+	// Where the pack was loaded from
+	private final File file;
+	// The mapped file, only duplicated or sliced afterwards
+	private final MappedByteBuffer buffer;
+	// Entries by name
+	private final Map<String, Entry> entries;
+
+	/**
+	 * Used internally, see {@link #open(String)}.
+	 */
+	private AssetPack(final File file, final MappedByteBuffer buffer, final Map<String, Entry> entries) {
+		this.file = file;
+		this.buffer = buffer;
+		this.entries = entries;
+	}
+
+	/**
+	 * Maps the provided pack file & reads its index.
+	 */
+	public static AssetPack open(final String path) throws IOException {
+		final File file = new File(path);
+		final MappedByteBuffer buffer;
+		try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("pack is too large to be mapped: " + channel.size() + " bytes");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		final DataInputStream input = new DataInputStream(new BufferInputStream(buffer.duplicate()));
+		if (input.readInt() != AssetPack.MAGIC) {
+			throw new IOException("not an asset pack: " + path);
+		}
+		final int version = input.readInt();
+		if (version != AssetPack.VERSION) {
+			throw new IOException("unsupported asset pack version: " + version);
+		}
+		final int entriesCount = input.readInt();
+		if (entriesCount < 0) {
+			throw new IOException("corrupt asset pack: " + path);
+		}
+		final AssetType[] assetTypes = AssetType.values();
+		final Map<String, Entry> entries = new HashMap<>(entriesCount * 2);
+		final String[] names = new String[entriesCount];
+		final byte[] types = new byte[entriesCount];
+		final long[] offsets = new long[entriesCount], lengths = new long[entriesCount];
+		for (int index = 0; index < entriesCount; index += 1) {
+			names[index] = input.readUTF();
+			types[index] = input.readByte();
+			if ((types[index] < 0) || (types[index] >= assetTypes.length)) {
+				throw new IOException("unknown asset type " + types[index] + " for entry " + names[index] + ": " + path);
+			}
+			offsets[index] = input.readLong();
+			lengths[index] = input.readLong();
+		}
+		final int dataOffset = buffer.capacity() - input.available();
+		for (int index = 0; index < entriesCount; index += 1) {
+			final long position = dataOffset + offsets[index];
+			if ((offsets[index] < 0) || (lengths[index] < 0) || ((position + lengths[index]) > buffer.capacity())) {
+				throw new IOException("truncated asset pack: " + path);
+			}
+			entries.put(names[index],
+					new Entry(assetTypes[types[index]], (int) position, (int) lengths[index]));
+		}
+		return new AssetPack(file, buffer, entries);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public boolean contains(final String name) {
+		return this.entries.containsKey(name);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public Set<String> names() {
+		return Collections.unmodifiableSet(this.entries.keySet());
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public AssetType type(final String name) throws IOException {
+		return this.entry(name, null).type;
+	}
+
+	/**
+	 * @return a read-only view over the entry's bytes, nothing is copied
+	 */
+	public ByteBuffer data(final String name) throws IOException {
+		return this.slice(this.entry(name, null));
+	}
+
+	/**
+	 * Materializes an image entry as a compatible image (see
+	 * {@link Images#createCompatibleImage(int, int, int)}).
+	 */
+	public BufferedImage image(final String name) throws IOException {
+		final ByteBuffer data = this.slice(this.entry(name, AssetType.IMAGE));
+		final int width = data.getInt(), height = data.getInt(), transparency = data.getInt();
+		final BufferedImage pixels = new BufferedImage(width, height,
+				transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+		final IntBuffer pixelsBuffer = data.asIntBuffer();
+		final int[] row = new int[width];
+		for (int y = 0; y < height; y += 1) {
+			pixelsBuffer.get(row);
+			pixels.getRaster().setDataElements(0, y, width, 1, row);
+		}
+		if (!Images.isCompatibleImagesEnabled()) {
+			return pixels;
+		}
+		// Copy so the image can still be accelerated
+		final BufferedImage image = Images.createCompatibleImage(width, height, transparency);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.drawImage(pixels, 0, 0, null);
+		graphics.dispose();
+		return image;
+	}
+
+	/**
+	 * Materializes a font entry.
+	 */
+	public Font font(final String name) throws IOException {
+		try {
+			return Font.createFont(Font.TRUETYPE_FONT,
+					new BufferInputStream(this.slice(this.entry(name, AssetType.FONT))));
+		} catch (final FontFormatException exception) {
+			throw new IOException(exception.getMessage(), exception);
+		}
+	}
+
+	/**
+	 * Materializes an audio entry as a resettable stream reading the mapped PCM
+	 * bytes directly.
+	 */
+	public AudioInputStream audio(final String name) throws IOException {
+		final ByteBuffer data = this.slice(this.entry(name, AssetType.AUDIO));
+		final BufferInputStream stream = new BufferInputStream(data);
+		final DataInputStream input = new DataInputStream(stream);
+		final AudioFormat.Encoding encoding = new AudioFormat.Encoding(input.readUTF());
+		final AudioFormat format = new AudioFormat(encoding, input.readFloat(), input.readInt(), input.readInt(),
+				input.readInt(), input.readFloat(), input.readBoolean());
+		final ByteBuffer pcm = data.slice();
+		return new AudioInputStream(new BufferInputStream(pcm), format, pcm.remaining() / format.getFrameSize());
+	}
+
+	/**
+	 * Materializes a locale entry as a translations map.
+	 */
+	public Map<String, String> translations(final String name) throws IOException {
+		final DataInputStream input = new DataInputStream(
+				new BufferInputStream(this.slice(this.entry(name, AssetType.LOCALE))));
+		final int pairsCount = input.readInt();
+		final Map<String, String> translations = new LinkedHashMap<>(pairsCount * 2);
+		for (int index = 0; index < pairsCount; index += 1) {
+			translations.put(input.readUTF(), input.readUTF());
+		}
+		return translations;
+	}
+
+	/**
+	 * Used internally to find an entry & check its type.
+	 */
+	private Entry entry(final String name, final AssetType type) throws IOException {
+		final Entry entry = this.entries.get(name);
+		if (entry == null) {
+			throw new IOException("no entry '" + name + "' in " + this.file.getPath());
+		}
+		if ((type != null) && (entry.type != type)) {
+			throw new IOException("entry '" + name + "' is " + entry.type + ", not " + type);
+		}
+		return entry;
+	}
+
+	/**
+	 * Used internally. Every caller gets its own view, the mapped buffer itself is
+	 * never moved.
+	 */
+	private ByteBuffer slice(final Entry entry) {
+		final ByteBuffer duplicate = this.buffer.duplicate();
+		duplicate.position(entry.position);
+		duplicate.limit(entry.position + entry.length);
+		return duplicate.slice().asReadOnlyBuffer();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AssetPack (params: file=%s, entries=%d, size=%d)", this.file.getPath(),
+				this.entries.size(), this.buffer.capacity());
+	}
+
+	/**
+	 * What an entry holds, decides how it's materialized.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	public static enum AssetType {
+		IMAGE, FONT, AUDIO, LOCALE, RAW;
+	}
+
+	/**
+	 * Where an entry lives in the mapped file.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class Entry {
+		private final AssetType type;
+		private final int position, length;
+
+		private Entry(final AssetType type, final int position, final int length) {
+			this.type = type;
+			this.position = position;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * An input stream reading a byte buffer, supports mark & reset so audio
+	 * streams can be replayed.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class BufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+		private int mark;
+
+		private BufferInputStream(final ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.mark = buffer.position();
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			final int count = Math.min(length, this.buffer.remaining());
+			this.buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(final long count) {
+			final int skipped = (int) Math.max(0, Math.min(count, this.buffer.remaining()));
+			this.buffer.position(this.buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public synchronized void mark(final int readLimit) {
+			this.mark = this.buffer.position();
+		}
+
+		@Override
+		public synchronized void reset() {
+			this.buffer.position(this.mark);
+		}
+
+		@Override
+		public void close() {
+			return;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.AssetPack.AssetType;
+import com.skanderj.lucidityengine.resources.audio.AudioMixer;
+import com.skanderj.lucidityengine.resources.audio.PcmSound;
+
+/**
+ * Offline tool baking a resources directory into a single {@link AssetPack}
+ * file. Images are stored as raw ARGB pixels, audio as PCM already in the
+ * mixer's format, .lang files as parsed translations & everything else (fonts
+ * included) as is. Entries are named after their path relative to the
+ * directory, using '/' as separator.
+ *
+ * <pre>
+ * java com.skanderj.lucidityengine.resources.AssetPacker res res.pack
+ * </pre>
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class AssetPacker {
+	private AssetPacker() {
+		return;
+	}
+
+	/**
+	 * Self explanatory. Returns true if successful, false otherwise.
+	 */
+	public static boolean pack(final String directoryPath, final String packPath) {
+		final long startTime = System.currentTimeMillis();
+		final File directory = new File(directoryPath);
+		if (!directory.isDirectory()) {
+			Logger.log(AssetPacker.class, LogLevel.SEVERE, "Provided path %s doesn't point to a directory",
+					directoryPath);
+			return false;
+		}
+		final List<File> files = new ArrayList<>();
+		AssetPacker.listFiles(directory, files);
+		final Map<String, AssetType> types = new LinkedHashMap<>();
+		final Map<String, byte[]> payloads = new LinkedHashMap<>();
+		for (final File file : files) {
+			final String name = directory.toPath().relativize(file.toPath()).toString().replace(File.separatorChar,
+					'/');
+			try {
+				final AssetType type = AssetPacker.typeOf(file);
+				payloads.put(name, AssetPacker.bake(file, type));
+				types.put(name, type);
+			} catch (IOException | UnsupportedAudioFileException exception) {
+				Logger.log(AssetPacker.class, LogLevel.SEVERE, "An exception occurred while baking %s: %s",
+						file.getPath(), exception.getMessage());
+				return false;
+			}
+		}
+		try (final DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(packPath)))) {
+			output.writeInt(AssetPack.MAGIC);
+			output.writeInt(AssetPack.VERSION);
+			output.writeInt(payloads.size());
+			long offset = 0;
+			for (final Map.Entry<String, byte[]> entry : payloads.entrySet()) {
+				output.writeUTF(entry.getKey());
+				output.writeByte(types.get(entry.getKey()).ordinal());
+				output.writeLong(offset);
+				output.writeLong(entry.getValue().length);
+				offset += entry.getValue().length;
+			}
+			for (final byte[] payload : payloads.values()) {
+				output.write(payload);
+			}
+		} catch (final IOException exception) {
+			Logger.log(AssetPacker.class, LogLevel.SEVERE, "An exception occurred while writing pack %s: %s",
+					packPath, exception.getMessage());
+			return false;
+		}
+		final long endTime = System.currentTimeMillis();
+		Logger.log(AssetPacker.class, LogLevel.INFO, "Pack baked: %s <- %s (%d entries, %d ms)", packPath,
+				directoryPath, payloads.size(), endTime - startTime);
+		return true;
+	}
+
+	/**
+	 * Used internally, recursively & in a stable order.
+	 */
+	private static void listFiles(final File directory, final List<File> files) {
+		final File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		Arrays.sort(children);
+		for (final File child : children) {
+			if (child.isDirectory()) {
+				AssetPacker.listFiles(child, files);
+			} else {
+				files.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Used internally, based on the file's extension.
+	 */
+	private static AssetType typeOf(final File file) {
+		final String name = file.getName().toLowerCase(Locale.ROOT);
+		final String extension = name.lastIndexOf('.') == -1 ? "" : name.substring(name.lastIndexOf('.') + 1);
+		switch (extension) {
+		case "png":
+		case "jpg":
+		case "jpeg":
+		case "bmp":
+		case "gif":
+			return AssetType.IMAGE;
+		case "ttf":
+		case "otf":
+			return AssetType.FONT;
+		case "wav":
+		case "aif":
+		case "aiff":
+		case "au":
+			return AssetType.AUDIO;
+		case "lang":
+			return AssetType.LOCALE;
+		default:
+			return AssetType.RAW;
+		}
+	}
+
+	/**
+	 * Used internally to turn a file into its entry's payload.
+	 */
+	private static byte[] bake(final File file, final AssetType type)
+			throws IOException, UnsupportedAudioFileException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(bytes);
+		switch (type) {
+		case IMAGE:
+			final BufferedImage image = ImageIO.read(file);
+			if (image == null) {
+				throw new IOException("unsupported image format");
+			}
+			final int width = image.getWidth(), height = image.getHeight();
+			output.writeInt(width);
+			output.writeInt(height);
+			output.writeInt(image.getColorModel().getTransparency());
+			final int[] row = new int[width];
+			for (int y = 0; y < height; y += 1) {
+				image.getRGB(0, y, width, 1, row, 0, width);
+				for (final int pixel : row) {
+					output.writeInt(pixel);
+				}
+			}
+			break;
+		case AUDIO:
+			try (AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+				final PcmSound sound = PcmSound.decode(source);
+				final AudioFormat format = AudioMixer.FORMAT;
+				output.writeUTF(format.getEncoding().toString());
+				output.writeFloat(format.getSampleRate());
+				output.writeInt(format.getSampleSizeInBits());
+				output.writeInt(format.getChannels());
+				output.writeInt(format.getFrameSize());
+				output.writeFloat(format.getFrameRate());
+				output.writeBoolean(format.isBigEndian());
+				output.write(sound.bytes());
+			}
+			break;
+		case LOCALE:
+			final Map<String, String> translations = new LinkedHashMap<>();
+			final BufferedReader reader = new BufferedReader(
+					new StringReader(new String(Files.readAllBytes(file.toPath()))));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("#") || line.isBlank()) {
+					continue;
+				}
+				translations.put(line.split("=")[0], line.split("=")[1]);
+			}
+			output.writeInt(translations.size());
+			for (final Map.Entry<String, String> translation : translations.entrySet()) {
+				output.writeUTF(translation.getKey());
+				output.writeUTF(translation.getValue());
+			}
+			break;
+		default:
+			output.write(Files.readAllBytes(file.toPath()));
+			break;
+		}
+		output.flush();
+		return bytes.toByteArray();
+	}
+
+	public static void main(final String[] args) {
+		if (args.length != 2) {
+			Logger.log(AssetPacker.class, LogLevel.SEVERE, "Usage: AssetPacker <resources directory> <pack file>");
+			System.exit(1);
+		}
+		System.exit(AssetPacker.pack(args[0], args[1]) ? 0 : 1);
+	}
+}
@@ -5,8 +5,8 @@ import java.awt.FontFormatException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
@@ -24,7 +24,7 @@ public final class Fonts {
 	}
 
 	// Fonts map by identifier for the custom fonts
-	private static final Map<String, Font> fontsMap = new HashMap<>();
+	private static final Map<String, Font> fontsMap = new ConcurrentHashMap<>();
 
 	/**
 	 * Loads a font from the provided path. File must be .TTF format (for now).
@@ -32,6 +32,8 @@ public final class Fonts {
 	 */
 	public static boolean load(final String identifier, final String path) {
 		final long startTime = System.currentTimeMillis();
+		HotReloader.track(path, "font:" + identifier,
+				() -> ResourceManager.reload(identifier, () -> Fonts.load(identifier, path)));
 		final File fontFile = new File(path);
 		FileInputStream fileInputStream;
 		try {
@@ -49,11 +51,51 @@ public final class Fonts {
 		}
 	}
 
+	/**
+	 * Loads a font from an {@link AssetPack} entry. Returns true if the font was
+	 * successfully registered, false otherwise.
+	 */
+	public static boolean load(final String identifier, final AssetPack pack, final String entry) {
+		final long startTime = System.currentTimeMillis();
+		try {
+			final Font font = pack.font(entry);
+			final long endTime = System.currentTimeMillis();
+			Fonts.fontsMap.put(identifier, font);
+			Logger.log(Fonts.class, LogLevel.INFO, "Font loaded: '%s' <- %s (%d ms)", identifier, entry,
+					endTime - startTime);
+			return true;
+		} catch (final IOException exception) {
+			Logger.log(Fonts.class, LogLevel.SEVERE, "An exception occurred while loading font from %s: %s", entry,
+					exception.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Removes a font. Returns true if it was loaded, false otherwise.
+	 */
+	public static boolean unload(final String identifier) {
+		return Fonts.fontsMap.remove(identifier) != null;
+	}
+
+	/**
+	 * Used internally to look a font up, loading it if it's managed by the
+	 * {@link ResourceManager}.
+	 */
+	private static Font resolve(final String identifier) {
+		final Font font = Fonts.fontsMap.get(identifier);
+		if (font == null) {
+			return ResourceManager.materialize(identifier, Fonts.fontsMap::get);
+		}
+		ResourceManager.touch(identifier);
+		return font;
+	}
+
 	/**
 	 * Self explanatory.
 	 */
 	public static Font get(final String identifier) {
-		final Font font = Fonts.fontsMap.get(identifier);
+		final Font font = Fonts.resolve(identifier);
 		if (font == null) {
 			Logger.log(Fonts.class, Logger.LogLevel.SEVERE, "Could not find font with identifier '%s'", identifier);
 			return null;
@@ -65,7 +107,7 @@ public final class Fonts {
 	 * Self explanatory. Returns the corresponding font with a specific size.
 	 */
 	public static Font get(final String identifier, final int size) {
-		final Font font = Fonts.fontsMap.get(identifier);
+		final Font font = Fonts.resolve(identifier);
 		if (font == null) {
 			Logger.log(Fonts.class, Logger.LogLevel.SEVERE, "Could not find font with identifier '%s'", identifier);
 			return null;
@@ -78,7 +120,7 @@ public final class Fonts {
 	 * style.
 	 */
 	public static Font get(final String identifier, final int size, final int style) {
-		final Font font = Fonts.fontsMap.get(identifier);
+		final Font font = Fonts.resolve(identifier);
 		if (font == null) {
 			Logger.log(Fonts.class, Logger.LogLevel.SEVERE, "Could not find font with identifier '%s'", identifier);
 			return null;
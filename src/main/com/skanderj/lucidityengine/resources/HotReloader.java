@@ -0,0 +1,198 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+
+/**
+ * A class used for reloading resources when their files change, meant for
+ * development. Can't be instantiated, only static methods. Every resource
+ * loaded from a file is tracked; once {@link #enable()} is called the
+ * directories of those files are watched & a changed file is loaded again on
+ * the {@link ResourceLoader} pool after a short quiet period, replacing the
+ * previous version in its registry. Objects that kept a reference to the
+ * previous version keep drawing it until they look the resource up again.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class HotReloader {
+	private HotReloader() {
+		return;
+	}
+
+	// How long a file must stay untouched before being reloaded, in milliseconds
+	public static final long DEFAULT_DEBOUNCE_DELAY = 200;
+
+	// Reloads by file & by resource (several resources can come from one file)
+	private static final Map<Path, Map<String, Supplier<Boolean>>> reloadsMap = new ConcurrentHashMap<>();
+	// Watching state
+	private static WatchService watchService;
+	private static Thread watchingThread;
+	private static final Set<Path> watchedDirectories = new HashSet<>();
+	private static volatile long debounceDelay = HotReloader.DEFAULT_DEBOUNCE_DELAY;
+
+	/**
+	 * Remembers how to reload a resource when the provided file changes. Called by
+	 * the resources classes whenever they load from a file.
+	 *
+	 * @param path       the file
+	 * @param resourceId unique per resource, e.g. "image:background"
+	 * @param reload     loads the resource again
+	 */
+	public static void track(final String path, final String resourceId, final Supplier<Boolean> reload) {
+		final Path file = Paths.get(path).toAbsolutePath().normalize();
+		HotReloader.reloadsMap.computeIfAbsent(file, key -> new ConcurrentHashMap<>()).put(resourceId, reload);
+		synchronized (HotReloader.class) {
+			if (HotReloader.watchService != null) {
+				HotReloader.watch(file.getParent());
+			}
+		}
+	}
+
+	/**
+	 * Starts watching the tracked files' directories. Does nothing if already
+	 * enabled.
+	 */
+	public static synchronized void enable() {
+		if (HotReloader.watchService != null) {
+			return;
+		}
+		try {
+			HotReloader.watchService = FileSystems.getDefault().newWatchService();
+		} catch (final IOException exception) {
+			Logger.log(HotReloader.class, LogLevel.SEVERE, "Could not create watch service: %s",
+					exception.getMessage());
+			return;
+		}
+		for (final Path file : HotReloader.reloadsMap.keySet()) {
+			HotReloader.watch(file.getParent());
+		}
+		final WatchService service = HotReloader.watchService;
+		HotReloader.watchingThread = new Thread(() -> HotReloader.watchLoop(service), "hot-reloader");
+		HotReloader.watchingThread.setDaemon(true);
+		HotReloader.watchingThread.start();
+		Logger.log(HotReloader.class, LogLevel.INFO, "Hot reloading enabled (%d directories watched)",
+				HotReloader.watchedDirectories.size());
+	}
+
+	/**
+	 * Stops watching. Does nothing if not enabled.
+	 */
+	public static synchronized void disable() {
+		if (HotReloader.watchService == null) {
+			return;
+		}
+		try {
+			HotReloader.watchService.close();
+		} catch (final IOException exception) {
+			Logger.log(HotReloader.class, LogLevel.SEVERE, "Could not close watch service: %s",
+					exception.getMessage());
+		}
+		HotReloader.watchService = null;
+		HotReloader.watchingThread = null;
+		HotReloader.watchedDirectories.clear();
+		Logger.log(HotReloader.class, LogLevel.INFO, "Hot reloading disabled");
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static synchronized boolean isEnabled() {
+		return HotReloader.watchService != null;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static void setDebounceDelay(final long debounceDelay) {
+		HotReloader.debounceDelay = debounceDelay;
+	}
+
+	/**
+	 * Used internally, the caller holds the class' lock.
+	 */
+	private static void watch(final Path directory) {
+		if ((directory == null) || !HotReloader.watchedDirectories.add(directory)) {
+			return;
+		}
+		try {
+			directory.register(HotReloader.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (final IOException exception) {
+			HotReloader.watchedDirectories.remove(directory);
+			Logger.log(HotReloader.class, LogLevel.SEVERE, "Could not watch %s: %s", directory,
+					exception.getMessage());
+		}
+	}
+
+	/**
+	 * Used internally by the watching thread. Changed files are only reloaded once
+	 * they stopped changing for the debounce delay, editors usually write a file
+	 * in several steps.
+	 */
+	private static void watchLoop(final WatchService service) {
+		final Map<Path, Long> pendingFiles = new HashMap<>();
+		try {
+			while (true) {
+				final WatchKey key = service.poll(pendingFiles.isEmpty() ? 1000 : 10, TimeUnit.MILLISECONDS);
+				if (key != null) {
+					final Path directory = (Path) key.watchable();
+					for (final WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							continue;
+						}
+						final Path file = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+						if (HotReloader.reloadsMap.containsKey(file)) {
+							pendingFiles.put(file, System.currentTimeMillis() + HotReloader.debounceDelay);
+						}
+					}
+					key.reset();
+				}
+				final long now = System.currentTimeMillis();
+				final Iterator<Map.Entry<Path, Long>> iterator = pendingFiles.entrySet().iterator();
+				while (iterator.hasNext()) {
+					final Map.Entry<Path, Long> entry = iterator.next();
+					if (entry.getValue() <= now) {
+						iterator.remove();
+						HotReloader.reload(entry.getKey());
+					}
+				}
+			}
+		} catch (final ClosedWatchServiceException | InterruptedException exception) {
+			return;
+		}
+	}
+
+	/**
+	 * Used internally to reload every resource coming from a file, off the
+	 * updating & rendering threads.
+	 */
+	private static void reload(final Path file) {
+		final Map<String, Supplier<Boolean>> reloads = HotReloader.reloadsMap.get(file);
+		if (reloads == null) {
+			return;
+		}
+		for (final Map.Entry<String, Supplier<Boolean>> entry : reloads.entrySet()) {
+			Logger.log(HotReloader.class, LogLevel.INFO, "Reloading %s <- %s", entry.getKey(), file);
+			ResourceLoader.load(entry.getValue());
+		}
+	}
+}
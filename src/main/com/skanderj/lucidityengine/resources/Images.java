@@ -1,15 +1,22 @@
 package com.skanderj.lucidityengine.resources;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import javax.imageio.ImageIO;
 
+import com.skanderj.lucidityengine.graphics.ScaledImageCache;
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
 import com.skanderj.lucidityengine.util.Utilities;
@@ -27,7 +34,21 @@ public final class Images {
 	}
 
 	// Images map
-	private static final Map<String, BufferedImage> imagesMap = new HashMap<>();
+	private static final Map<String, BufferedImage> imagesMap = new ConcurrentHashMap<>();
+	// Sorted images identifiers, managed ones included even when they aren't
+	// resident, used to find collections by prefix
+	private static final NavigableSet<String> identifiersIndex = new ConcurrentSkipListSet<>();
+	// Collections already looked up, by prefix
+	private static final Map<String, BufferedImage[]> collectionsCache = new ConcurrentHashMap<>();
+	// Incremented whenever collections are invalidated, only changed while holding
+	// the collections' lock
+	private static long collectionsVersion = 0;
+
+	// Atlases map
+	private static final Map<String, TextureAtlas> atlasesMap = new ConcurrentHashMap<>();
+
+	// Whether loaded images are converted to the display's pixel format
+	private static volatile boolean compatibleImagesEnabled = true;
 
 	/**
 	 * Loads an image from the provided path. Returns true if the font was
@@ -35,12 +56,13 @@ public final class Images {
 	 */
 	public static boolean load(final String identifier, final String path) {
 		final long startTime = System.currentTimeMillis();
-		BufferedImage image;
+		HotReloader.track(path, "image:" + identifier,
+				() -> ResourceManager.reload(identifier, () -> Images.load(identifier, path)));
 		try {
 			final File file = new File(path);
-			image = ImageIO.read(file);
+			final BufferedImage image = Images.read(file);
 			final long endTime = System.currentTimeMillis();
-			Images.imagesMap.put(identifier, image);
+			Images.register(identifier, image);
 			Logger.log(Images.class, LogLevel.INFO, "Image loaded: '%s' <- %s (%d ms)", identifier, file.getPath(),
 					endTime - startTime);
 			return true;
@@ -51,6 +73,151 @@ public final class Images {
 		}
 	}
 
+	/**
+	 * Loads an image from an {@link AssetPack} entry. Returns true if the image was
+	 * successfully registered, false otherwise.
+	 */
+	public static boolean load(final String identifier, final AssetPack pack, final String entry) {
+		final long startTime = System.currentTimeMillis();
+		try {
+			final BufferedImage image = pack.image(entry);
+			final long endTime = System.currentTimeMillis();
+			Images.register(identifier, image);
+			Logger.log(Images.class, LogLevel.INFO, "Image loaded: '%s' <- %s (%d ms)", identifier, entry,
+					endTime - startTime);
+			return true;
+		} catch (final IOException exception) {
+			Logger.log(Images.class, LogLevel.SEVERE, "An exception occurred while loading image from %s: %s", entry,
+					exception.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Used internally to add an image & invalidate the collections it's part of as
+	 * well as the scaled copies of the image it replaces.
+	 */
+	private static void register(final String identifier, final BufferedImage image) {
+		synchronized (Images.collectionsCache) {
+			final BufferedImage previous = Images.imagesMap.put(identifier, image);
+			Images.identifiersIndex.add(identifier);
+			Images.invalidateCollections(identifier);
+			if ((previous != null) && (previous != image)) {
+				ScaledImageCache.invalidate(previous);
+			}
+		}
+	}
+
+	/**
+	 * Removes an image. Returns true if it was loaded, false otherwise.
+	 */
+	public static boolean unload(final String identifier) {
+		synchronized (Images.collectionsCache) {
+			final BufferedImage image = Images.imagesMap.remove(identifier);
+			if (image == null) {
+				return false;
+			}
+			if (!ResourceManager.isManaged(identifier)) {
+				Images.identifiersIndex.remove(identifier);
+			}
+			Images.invalidateCollections(identifier);
+			ScaledImageCache.invalidate(image);
+			return true;
+		}
+	}
+
+	/**
+	 * Used by the {@link ResourceManager} so that managed images are part of
+	 * their collections before being loaded.
+	 */
+	static void index(final String identifier) {
+		synchronized (Images.collectionsCache) {
+			Images.identifiersIndex.add(identifier);
+			Images.invalidateCollections(identifier);
+		}
+	}
+
+	/**
+	 * Used internally, no logging & no loading.
+	 */
+	static BufferedImage peek(final String identifier) {
+		return Images.imagesMap.get(identifier);
+	}
+
+	/**
+	 * Used internally to drop the cached collections whose prefix matches the
+	 * provided identifier.
+	 */
+	private static void invalidateCollections(final String identifier) {
+		Images.collectionsCache.keySet().removeIf(prefix -> identifier.startsWith(prefix));
+		Images.collectionsVersion += 1;
+	}
+
+	/**
+	 * Used internally to read an image file, converting it if needed.
+	 */
+	private static BufferedImage read(final File file) throws IOException {
+		final BufferedImage image = ImageIO.read(file);
+		if (image == null) {
+			throw new IOException("unsupported image format");
+		}
+		return Images.compatibleImagesEnabled ? Images.toCompatibleImage(image) : image;
+	}
+
+	/**
+	 * Returns a copy of the provided image in the pixel format of the default
+	 * screen (opaque, bitmask or translucent depending on the source image) so
+	 * that drawing it doesn't require any conversion. The copy is a managed image:
+	 * Java2D caches it in video memory as long as its raster isn't accessed
+	 * directly. Returns the image itself if it's already compatible or if there's
+	 * no display.
+	 */
+	public static BufferedImage toCompatibleImage(final BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		final GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration();
+		final int transparency = image.getColorModel().getTransparency();
+		if (image.getColorModel().equals(configuration.getColorModel(transparency))) {
+			return image;
+		}
+		final BufferedImage compatibleImage = configuration.createCompatibleImage(image.getWidth(), image.getHeight(),
+				transparency);
+		final Graphics2D graphics = compatibleImage.createGraphics();
+		graphics.drawImage(image, 0, 0, null);
+		graphics.dispose();
+		return compatibleImage;
+	}
+
+	/**
+	 * Creates an empty image in the pixel format of the default screen, or a
+	 * regular RGB/ARGB image if there's no display or compatible images are
+	 * disabled.
+	 */
+	public static BufferedImage createCompatibleImage(final int width, final int height, final int transparency) {
+		if (!Images.compatibleImagesEnabled || GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height,
+					transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, transparency);
+	}
+
+	/**
+	 * Self explanatory. Only affects images loaded afterwards.
+	 */
+	public static void setCompatibleImagesEnabled(final boolean enabled) {
+		Images.compatibleImagesEnabled = enabled;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static boolean isCompatibleImagesEnabled() {
+		return Images.compatibleImagesEnabled;
+	}
+
 	/**
 	 * Loads all the image files randomly in the provided directory, formatting the
 	 * identifier. Returns true if successful, false otherwise.
@@ -101,11 +268,75 @@ public final class Images {
 		}
 	}
 
+	/**
+	 * Loads all the image files in order in the provided directory following the
+	 * fileFormat format string & packs them into a single {@link TextureAtlas}
+	 * instead of registering them separately. Returns true if successful, false
+	 * otherwise.
+	 */
+	public static boolean loadAtlas(final String identifier, final String path, final String fileFormat) {
+		final File directory = new File(path);
+		if (directory.isDirectory()) {
+			final long startTime = System.currentTimeMillis();
+			final List<BufferedImage> images = new ArrayList<>();
+			int counter = 1;
+			while (true) {
+				final String filename = String.format(fileFormat, counter);
+				if (Utilities.fileExistsInDirectory(path, filename)) {
+					HotReloader.track(path + "/" + filename, "atlas:" + identifier,
+							() -> Images.loadAtlas(identifier, path, fileFormat));
+					try {
+						images.add(Images.read(new File(path, filename)));
+					} catch (final IOException exception) {
+						Logger.log(Images.class, LogLevel.SEVERE,
+								"An exception occurred while loading image from %s/%s: %s", path, filename,
+								exception.getMessage());
+						return false;
+					}
+				} else {
+					break;
+				}
+				counter++;
+			}
+			if (images.isEmpty()) {
+				Logger.log(Images.class, LogLevel.SEVERE, "Could not find any image matching %s in %s", fileFormat,
+						path);
+				return false;
+			}
+			final TextureAtlas atlas = TextureAtlas.pack(images.toArray(new BufferedImage[images.size()]));
+			final long endTime = System.currentTimeMillis();
+			Images.atlasesMap.put(identifier, atlas);
+			Logger.log(Images.class, LogLevel.INFO, "Atlas loaded: '%s' <- %s (%d images, %d pages, %d ms)", identifier,
+					path, atlas.regionsCount(), atlas.pagesCount(), endTime - startTime);
+			return true;
+		} else {
+			Logger.log(Images.class, Logger.LogLevel.SEVERE, "Provided path %s doesn't point to a directory", path);
+			return false;
+		}
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static TextureAtlas getAtlas(final String identifier) {
+		final TextureAtlas atlas = Images.atlasesMap.get(identifier);
+		if (atlas == null) {
+			Logger.log(Images.class, Logger.LogLevel.SEVERE, "Could not find atlas with identifier '%s'", identifier);
+			return null;
+		}
+		return atlas;
+	}
+
 	/**
 	 * Self explanatory.
 	 */
 	public static BufferedImage get(final String identifier) {
-		final BufferedImage image = Images.imagesMap.get(identifier);
+		BufferedImage image = Images.imagesMap.get(identifier);
+		if (image == null) {
+			image = ResourceManager.materialize(identifier, Images.imagesMap::get);
+		} else {
+			ResourceManager.touch(identifier);
+		}
 		if (image == null) {
 			Logger.log(Fonts.class, Logger.LogLevel.SEVERE, "Could not find image with identifier '%s'", identifier);
 			return null;
@@ -114,15 +345,81 @@ public final class Images {
 	}
 
 	/**
-	 * Self explanatory.
+	 * Returns every image whose identifier starts with the provided one, ordered
+	 * by identifier with numbers compared by value ("frame-2" comes before
+	 * "frame-10"). Managed images are loaded if needed, so a collection is only
+	 * complete if every managed image of it fits in the memory budget. Collections
+	 * are cached until an image is added to, removed from or evicted from them.
+	 * The returned array is shared, do not modify it.
 	 */
 	public static BufferedImage[] getCollectionByID(final String identifier) {
-		final List<BufferedImage> images = new ArrayList<>();
-		for (final String id : Images.imagesMap.keySet()) {
-			if (id.contains(identifier)) {
-				images.add(Images.imagesMap.get(id));
+		final BufferedImage[] cachedImages = Images.collectionsCache.get(identifier);
+		if (cachedImages != null) {
+			return cachedImages;
+		}
+		final long version;
+		synchronized (Images.collectionsCache) {
+			version = Images.collectionsVersion;
+		}
+		final List<String> identifiers = new ArrayList<>(
+				Images.identifiersIndex.subSet(identifier, true, identifier + Character.MAX_VALUE, false));
+		identifiers.sort(Images::compareIdentifiers);
+		// Loaded without holding the collections' lock, the evictions loading
+		// triggers take it
+		final List<BufferedImage> images = new ArrayList<>(identifiers.size());
+		for (final String imageIdentifier : identifiers) {
+			BufferedImage image = Images.imagesMap.get(imageIdentifier);
+			if (image == null) {
+				image = ResourceManager.materialize(imageIdentifier, Images.imagesMap::get);
+			} else {
+				ResourceManager.touch(imageIdentifier);
+			}
+			if (image != null) {
+				images.add(image);
+			}
+		}
+		final BufferedImage[] collection = images.toArray(new BufferedImage[images.size()]);
+		synchronized (Images.collectionsCache) {
+			// Only cached if nothing changed while it was built
+			if (version == Images.collectionsVersion) {
+				Images.collectionsCache.put(identifier, collection);
+			}
+		}
+		return collection;
+	}
+
+	/**
+	 * Used internally to compare identifiers, numbers are compared by value.
+	 */
+	private static int compareIdentifiers(final String first, final String second) {
+		int i = 0, j = 0;
+		while ((i < first.length()) && (j < second.length())) {
+			final char a = first.charAt(i), b = second.charAt(j);
+			if (Character.isDigit(a) && Character.isDigit(b)) {
+				final int startI = i, startJ = j;
+				while ((i < first.length()) && Character.isDigit(first.charAt(i))) {
+					i += 1;
+				}
+				while ((j < second.length()) && Character.isDigit(second.charAt(j))) {
+					j += 1;
+				}
+				final String numberA = first.substring(startI, i).replaceFirst("^0+(?=.)", "");
+				final String numberB = second.substring(startJ, j).replaceFirst("^0+(?=.)", "");
+				if (numberA.length() != numberB.length()) {
+					return numberA.length() - numberB.length();
+				}
+				final int comparison = numberA.compareTo(numberB);
+				if (comparison != 0) {
+					return comparison;
+				}
+			} else {
+				if (a != b) {
+					return a - b;
+				}
+				i += 1;
+				j += 1;
 			}
 		}
-		return images.toArray(new BufferedImage[images.size()]);
+		return (first.length() - i) - (second.length() - j);
 	}
-}
\ No newline at end of file
+}
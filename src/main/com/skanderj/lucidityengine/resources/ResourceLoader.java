@@ -0,0 +1,209 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.audio.Audios;
+
+/**
+ * A class used for loading resources asynchronously. Can't be instantiated,
+ * only static methods. Files are decoded in parallel on a bounded pool & every
+ * load returns a {@link CompletableFuture} completed with the same value the
+ * synchronous method ({@link Images#load(String, String)},
+ * {@link Fonts#load(String, String)} or {@link Audios#load(String, String)})
+ * would have returned. Critical resources are waited for before the
+ * application objects are registered, the others keep loading while the first
+ * scene is shown.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class ResourceLoader {
+	private ResourceLoader() {
+		return;
+	}
+
+	// How many resources can be decoded at the same time
+	public static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+	// Loading threads, created when first needed
+	private static ExecutorService pool;
+	// Loads that have to be done before the application objects are registered
+	private static final List<CompletableFuture<Boolean>> criticalLoads = new ArrayList<>();
+	// Every pending load, used to wait for all of them (done ones are dropped)
+	private static final List<CompletableFuture<Boolean>> loads = new ArrayList<>();
+	// Progress counters
+	private static final AtomicInteger submittedLoads = new AtomicInteger(0), completedLoads = new AtomicInteger(0);
+
+	/**
+	 * Self explanatory. Critical by default.
+	 */
+	public static CompletableFuture<Boolean> loadImage(final String identifier, final String path) {
+		return ResourceLoader.loadImage(identifier, path, true);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static CompletableFuture<Boolean> loadImage(final String identifier, final String path,
+			final boolean critical) {
+		return ResourceLoader.submit(() -> Images.load(identifier, path), critical);
+	}
+
+	/**
+	 * Self explanatory. Critical by default.
+	 */
+	public static CompletableFuture<Boolean> loadAtlas(final String identifier, final String path,
+			final String fileFormat) {
+		return ResourceLoader.loadAtlas(identifier, path, fileFormat, true);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static CompletableFuture<Boolean> loadAtlas(final String identifier, final String path,
+			final String fileFormat, final boolean critical) {
+		return ResourceLoader.submit(() -> Images.loadAtlas(identifier, path, fileFormat), critical);
+	}
+
+	/**
+	 * Self explanatory. Critical by default.
+	 */
+	public static CompletableFuture<Boolean> loadFont(final String identifier, final String path) {
+		return ResourceLoader.loadFont(identifier, path, true);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static CompletableFuture<Boolean> loadFont(final String identifier, final String path,
+			final boolean critical) {
+		return ResourceLoader.submit(() -> Fonts.load(identifier, path), critical);
+	}
+
+	/**
+	 * Self explanatory. Critical by default.
+	 */
+	public static CompletableFuture<Boolean> loadAudio(final String identifier, final String path) {
+		return ResourceLoader.loadAudio(identifier, path, true);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static CompletableFuture<Boolean> loadAudio(final String identifier, final String path,
+			final boolean critical) {
+		return ResourceLoader.submit(() -> Audios.load(identifier, path), critical);
+	}
+
+	/**
+	 * Runs any load on the pool, e.g. a reload. Never critical.
+	 */
+	public static CompletableFuture<Boolean> load(final Supplier<Boolean> load) {
+		return ResourceLoader.submit(load, false);
+	}
+
+	/**
+	 * Pins a managed resource (see {@link ResourceManager#acquire(String)}),
+	 * loading it on the pool if needed. Never critical.
+	 */
+	public static CompletableFuture<Boolean> acquire(final String identifier) {
+		return ResourceLoader.submit(() -> ResourceManager.acquire(identifier), false);
+	}
+
+	/**
+	 * Used internally to run a load on the pool & keep track of it.
+	 */
+	private static synchronized CompletableFuture<Boolean> submit(final Supplier<Boolean> load,
+			final boolean critical) {
+		if (ResourceLoader.pool == null) {
+			final AtomicInteger threadsCount = new AtomicInteger(0);
+			ResourceLoader.pool = Executors.newFixedThreadPool(ResourceLoader.POOL_SIZE, runnable -> {
+				final Thread thread = new Thread(runnable, "resource-loader-" + threadsCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		ResourceLoader.loads.removeIf(CompletableFuture::isDone);
+		ResourceLoader.submittedLoads.incrementAndGet();
+		final CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(load, ResourceLoader.pool)
+				.exceptionally(throwable -> {
+					Logger.log(ResourceLoader.class, LogLevel.SEVERE, "An exception occurred while loading: %s",
+							throwable.getMessage());
+					return false;
+				}).whenComplete((success, throwable) -> ResourceLoader.completedLoads.incrementAndGet());
+		ResourceLoader.loads.add(future);
+		if (critical) {
+			ResourceLoader.criticalLoads.add(future);
+		}
+		return future;
+	}
+
+	/**
+	 * Blocks until every critical load submitted so far is done. Returns true if
+	 * all of them were successful, false otherwise. Called by the application
+	 * right after {@link com.skanderj.lucidityengine.Application#loadResources()}.
+	 */
+	public static boolean awaitCriticalLoads() {
+		final List<CompletableFuture<Boolean>> futures;
+		synchronized (ResourceLoader.class) {
+			futures = new ArrayList<>(ResourceLoader.criticalLoads);
+			ResourceLoader.criticalLoads.clear();
+		}
+		return ResourceLoader.await(futures);
+	}
+
+	/**
+	 * Blocks until every pending load is done. Returns true if all of them were
+	 * successful, false otherwise.
+	 */
+	public static boolean awaitAllLoads() {
+		final List<CompletableFuture<Boolean>> futures;
+		synchronized (ResourceLoader.class) {
+			futures = new ArrayList<>(ResourceLoader.loads);
+		}
+		return ResourceLoader.await(futures);
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static boolean await(final List<CompletableFuture<Boolean>> futures) {
+		boolean success = true;
+		for (final CompletableFuture<Boolean> future : futures) {
+			success &= future.join();
+		}
+		return success;
+	}
+
+	/**
+	 * @return a future completed once every load submitted so far is done, useful
+	 *         to leave a loading scene without blocking
+	 */
+	public static synchronized CompletableFuture<Void> allLoads() {
+		return CompletableFuture.allOf(ResourceLoader.loads.toArray(new CompletableFuture<?>[0]));
+	}
+
+	/**
+	 * @return the share of submitted loads that are done, between 0 & 1 (1 if
+	 *         nothing was submitted)
+	 */
+	public static double progress() {
+		final int submitted = ResourceLoader.submittedLoads.get();
+		return submitted == 0 ? 1 : ResourceLoader.completedLoads.get() / (double) submitted;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static int pendingLoads() {
+		return ResourceLoader.submittedLoads.get() - ResourceLoader.completedLoads.get();
+	}
+}
@@ -0,0 +1,362 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.resources.audio.Audios;
+import com.skanderj.lucidityengine.resources.audio.PcmSound;
+
+/**
+ * A class used for loading resources only when they're needed. Can't be
+ * instantiated, only static methods. Resources are registered by path (or
+ * {@link AssetPack} entry) without being decoded, then materialized on the
+ * first {@link Images#get(String)}, {@link Fonts#get(String)} or
+ * {@link Audios#play(String)}. Scenes pin the resources they need (see
+ * {@link com.skanderj.lucidityengine.core.Scene#requireResources(String...)})
+ * & unpinned resources are evicted, least recently used first, once the memory
+ * budget is exceeded.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class ResourceManager {
+	private ResourceManager() {
+		return;
+	}
+
+	// Default memory budget, in bytes
+	public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024L * 1024L;
+
+	// Managed resources by identifier
+	private static final Map<String, ManagedResource> resourcesMap = new ConcurrentHashMap<>();
+	// Incremented on every access, used to find the least recently used resource
+	private static final AtomicLong clock = new AtomicLong(0);
+	// Memory budget & estimated memory used by the resident resources, in bytes
+	private static long memoryBudget = ResourceManager.DEFAULT_MEMORY_BUDGET, residentMemory = 0;
+
+	/**
+	 * Registers an image file without loading it.
+	 */
+	public static void registerImage(final String identifier, final String path) {
+		ResourceManager.register(identifier, () -> Images.load(identifier, path), () -> Images.unload(identifier),
+				() -> ResourceManager.sizeOf(Images.peek(identifier)));
+		Images.index(identifier);
+	}
+
+	/**
+	 * Registers an image pack entry without loading it.
+	 */
+	public static void registerImage(final String identifier, final AssetPack pack, final String entry) {
+		ResourceManager.register(identifier, () -> Images.load(identifier, pack, entry),
+				() -> Images.unload(identifier), () -> ResourceManager.sizeOf(Images.peek(identifier)));
+		Images.index(identifier);
+	}
+
+	/**
+	 * Registers a font file without loading it.
+	 */
+	public static void registerFont(final String identifier, final String path) {
+		final long size = new File(path).length();
+		ResourceManager.register(identifier, () -> Fonts.load(identifier, path), () -> Fonts.unload(identifier),
+				() -> size);
+	}
+
+	/**
+	 * Registers a font pack entry without loading it.
+	 */
+	public static void registerFont(final String identifier, final AssetPack pack, final String entry) {
+		ResourceManager.register(identifier, () -> Fonts.load(identifier, pack, entry),
+				() -> Fonts.unload(identifier), () -> ResourceManager.sizeOf(pack, entry));
+	}
+
+	/**
+	 * Registers an audio file without loading it.
+	 */
+	public static void registerAudio(final String identifier, final String path) {
+		ResourceManager.register(identifier, () -> Audios.load(identifier, path), () -> Audios.unload(identifier),
+				() -> ResourceManager.sizeOf(Audios.audioMap.get(identifier)));
+	}
+
+	/**
+	 * Registers an audio pack entry without loading it.
+	 */
+	public static void registerAudio(final String identifier, final AssetPack pack, final String entry) {
+		ResourceManager.register(identifier, () -> Audios.load(identifier, pack, entry),
+				() -> Audios.unload(identifier), () -> ResourceManager.sizeOf(Audios.audioMap.get(identifier)));
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static void register(final String identifier, final BooleanSupplier loader, final Runnable unloader,
+			final LongSupplier size) {
+		ResourceManager.resourcesMap.put(identifier, new ManagedResource(identifier, loader, unloader, size));
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static boolean isManaged(final String identifier) {
+		return ResourceManager.resourcesMap.containsKey(identifier);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static boolean isResident(final String identifier) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		return (resource != null) && resource.resident;
+	}
+
+	/**
+	 * Loads a managed resource if it isn't resident yet. Returns true if the
+	 * resource is resident afterwards, false if it isn't managed or couldn't be
+	 * loaded. Called by the resources classes when a managed resource is missing.
+	 * Decoding only holds the resource's own lock: threads needing the same
+	 * resource wait for it, others don't.
+	 */
+	public static boolean materialize(final String identifier) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource == null) {
+			return false;
+		}
+		resource.lastAccess = ResourceManager.clock.incrementAndGet();
+		if (resource.resident) {
+			return true;
+		}
+		synchronized (resource) {
+			if (resource.resident) {
+				return true;
+			}
+			if (!resource.loader.getAsBoolean()) {
+				return false;
+			}
+			final long size = resource.sizeSupplier.getAsLong();
+			synchronized (ResourceManager.class) {
+				resource.size = size;
+				resource.resident = true;
+				ResourceManager.residentMemory += size;
+				if (size > ResourceManager.memoryBudget) {
+					Logger.log(ResourceManager.class, LogLevel.WARNING,
+							"Resource '%s' (%d bytes) is larger than the whole memory budget (%d bytes)", identifier,
+							size, ResourceManager.memoryBudget);
+				}
+				ResourceManager.evict();
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Same as above, then reads the resource back with the provided look up while
+	 * it's still pinned, so the eviction its loading triggers can't unload it
+	 * before the caller got it. Returns null if it couldn't be loaded.
+	 */
+	public static <T> T materialize(final String identifier, final Function<String, T> lookUp) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource == null) {
+			return null;
+		}
+		synchronized (ResourceManager.class) {
+			resource.references += 1;
+		}
+		try {
+			return ResourceManager.materialize(identifier) ? lookUp.apply(identifier) : null;
+		} finally {
+			ResourceManager.release(identifier);
+		}
+	}
+
+	/**
+	 * Reloads a resource whose file changed, called by the {@link HotReloader}.
+	 * Resources which aren't managed are simply reloaded. Managed ones are only
+	 * reloaded if they're resident - otherwise the new file is picked up when
+	 * they're next needed - & their size is accounted for again. Returns true if
+	 * successful, false otherwise.
+	 */
+	public static boolean reload(final String identifier, final BooleanSupplier reload) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource == null) {
+			return reload.getAsBoolean();
+		}
+		// Pinned so that it can't be evicted between the check & the reload
+		synchronized (ResourceManager.class) {
+			resource.references += 1;
+		}
+		try {
+			synchronized (resource) {
+				if (!resource.resident) {
+					return true;
+				}
+				if (!reload.getAsBoolean()) {
+					return false;
+				}
+				final long size = resource.sizeSupplier.getAsLong();
+				synchronized (ResourceManager.class) {
+					ResourceManager.residentMemory += size - resource.size;
+					resource.size = size;
+				}
+				return true;
+			}
+		} finally {
+			ResourceManager.release(identifier);
+		}
+	}
+
+	/**
+	 * Marks a resource as used, called by the resources classes on every access.
+	 * Does nothing if the resource isn't managed.
+	 */
+	public static void touch(final String identifier) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource != null) {
+			resource.lastAccess = ResourceManager.clock.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Pins a resource, loading it if needed: it won't be evicted until every
+	 * acquisition is released. Returns true if the resource is resident, false
+	 * otherwise.
+	 */
+	public static boolean acquire(final String identifier) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource == null) {
+			Logger.log(ResourceManager.class, LogLevel.SEVERE, "Could not find managed resource with identifier '%s'",
+					identifier);
+			return false;
+		}
+		synchronized (ResourceManager.class) {
+			resource.references += 1;
+		}
+		return ResourceManager.materialize(identifier);
+	}
+
+	/**
+	 * Releases a previous acquisition. The resource stays resident until the
+	 * memory budget requires evicting it.
+	 */
+	public static void release(final String identifier) {
+		final ManagedResource resource = ResourceManager.resourcesMap.get(identifier);
+		if (resource == null) {
+			return;
+		}
+		synchronized (ResourceManager.class) {
+			resource.references = Math.max(0, resource.references - 1);
+			ResourceManager.evict();
+		}
+	}
+
+	/**
+	 * Used internally to unload the least recently used unpinned resources until
+	 * the resident ones fit in the memory budget.
+	 */
+	private static void evict() {
+		while (ResourceManager.residentMemory > ResourceManager.memoryBudget) {
+			ManagedResource leastRecentlyUsed = null;
+			for (final ManagedResource resource : ResourceManager.resourcesMap.values()) {
+				if (resource.resident && (resource.references == 0) && ((leastRecentlyUsed == null)
+						|| (resource.lastAccess < leastRecentlyUsed.lastAccess))) {
+					leastRecentlyUsed = resource;
+				}
+			}
+			if (leastRecentlyUsed == null) {
+				// Everything left is pinned
+				return;
+			}
+			leastRecentlyUsed.unloader.run();
+			leastRecentlyUsed.resident = false;
+			ResourceManager.residentMemory -= leastRecentlyUsed.size;
+			Logger.log(ResourceManager.class, LogLevel.DEBUG, "Evicted resource '%s' (%d bytes)",
+					leastRecentlyUsed.identifier, leastRecentlyUsed.size);
+		}
+	}
+
+	/**
+	 * Self explanatory. Evicts right away if the new budget is smaller.
+	 */
+	public static synchronized void setMemoryBudget(final long memoryBudget) {
+		ResourceManager.memoryBudget = memoryBudget;
+		ResourceManager.evict();
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public static synchronized long memoryBudget() {
+		return ResourceManager.memoryBudget;
+	}
+
+	/**
+	 * @return the estimated memory used by the resident resources, in bytes
+	 */
+	public static synchronized long residentMemory() {
+		return ResourceManager.residentMemory;
+	}
+
+	/**
+	 * Used internally, assumes 4 bytes per pixel.
+	 */
+	private static long sizeOf(final BufferedImage image) {
+		return image == null ? 0 : (long) image.getWidth() * image.getHeight() * 4L;
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private static long sizeOf(final PcmSound sound) {
+		return sound == null ? 0 : sound.size();
+	}
+
+	/**
+	 * Used internally, the size of a pack entry as stored.
+	 */
+	private static long sizeOf(final AssetPack pack, final String entry) {
+		try {
+			return pack.data(entry).remaining();
+		} catch (final IOException exception) {
+			return 0;
+		}
+	}
+
+	/**
+	 * A registered resource & its state.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class ManagedResource {
+		private final String identifier;
+		private final BooleanSupplier loader;
+		private final Runnable unloader;
+		private final LongSupplier sizeSupplier;
+		// Written while holding the ResourceManager class' lock, only loaded while
+		// holding the resource's own lock
+		private volatile boolean resident;
+		private int references;
+		private long size;
+		// Written on every access, read when evicting
+		private volatile long lastAccess;
+
+		private ManagedResource(final String identifier, final BooleanSupplier loader, final Runnable unloader,
+				final LongSupplier sizeSupplier) {
+			this.identifier = identifier;
+			this.loader = loader;
+			this.unloader = unloader;
+			this.sizeSupplier = sizeSupplier;
+			this.resident = false;
+			this.references = 0;
+			this.size = 0;
+			this.lastAccess = 0;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.skanderj.lucidityengine.resources;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ *
+ * A collection of images (usually animation frames) packed into one or a few
+ * large pages. Each image is then described by a {@link Region} of its page,
+ * which can be drawn with
+ * {@link com.skanderj.lucidityengine.graphics.Screen#drawRegion(Region, int, int, int, int)}.
+ * Packing is done on shelves: images are sorted by decreasing height & laid
+ * out left to right, a new shelf is opened when the current one is full & a new
+ * page when the current one is.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class TextureAtlas {
+	// Pages are at most this wide & high, unless a single image is bigger
+	public static final int MAXIMUM_PAGE_SIZE = 2048;
+	// Empty pixels around every region, prevents bleeding when scaling
+	public static final int PADDING = 1;
+
+	// The packed images
+	private final BufferedImage[] pages;
+	// One region per packed image, in the provided order
+	private final Region[] regions;
+
+	/**
+	 * Used internally, see {@link #pack(BufferedImage...)}.
+	 */
+	private TextureAtlas(final BufferedImage[] pages, final Region[] regions) {
+		this.pages = pages;
+		this.regions = regions;
+	}
+
+	/**
+	 * Packs the provided images into a new atlas. Regions are in the same order as
+	 * the images.
+	 */
+	public static TextureAtlas pack(final BufferedImage... images) {
+		// Page width: large enough for the widest image, aiming for square pages
+		long area = 0;
+		int widest = 0;
+		boolean opaque = true;
+		for (final BufferedImage image : images) {
+			area += (long) (image.getWidth() + TextureAtlas.PADDING) * (image.getHeight() + TextureAtlas.PADDING);
+			widest = Math.max(widest, image.getWidth() + TextureAtlas.PADDING);
+			opaque &= image.getColorModel().getTransparency() == Transparency.OPAQUE;
+		}
+		int pageWidth = 1;
+		while ((pageWidth < TextureAtlas.MAXIMUM_PAGE_SIZE) && (((long) pageWidth * pageWidth) < area)) {
+			pageWidth <<= 1;
+		}
+		pageWidth = Math.max(Math.min(pageWidth, TextureAtlas.MAXIMUM_PAGE_SIZE), widest);
+		// Place the tallest images first
+		final Integer[] order = new Integer[images.length];
+		for (int index = 0; index < order.length; index += 1) {
+			order[index] = index;
+		}
+		Arrays.sort(order, Comparator.comparingInt((final Integer index) -> images[index].getHeight()).reversed());
+		final int[] pageIndices = new int[images.length], xs = new int[images.length], ys = new int[images.length];
+		final List<Integer> pageHeights = new ArrayList<Integer>();
+		int page = -1, shelfX = 0, shelfY = 0, shelfHeight = 0;
+		for (final int index : order) {
+			final int width = images[index].getWidth() + TextureAtlas.PADDING;
+			final int height = images[index].getHeight() + TextureAtlas.PADDING;
+			if ((page != -1) && ((shelfX + width) > pageWidth)) {
+				shelfX = 0;
+				shelfY += shelfHeight;
+				shelfHeight = 0;
+			}
+			if ((page == -1) || (((shelfY + height) > TextureAtlas.MAXIMUM_PAGE_SIZE) && (shelfY > 0))) {
+				page += 1;
+				pageHeights.add(0);
+				shelfX = 0;
+				shelfY = 0;
+				shelfHeight = 0;
+			}
+			pageIndices[index] = page;
+			xs[index] = shelfX;
+			ys[index] = shelfY;
+			shelfX += width;
+			shelfHeight = Math.max(shelfHeight, height);
+			pageHeights.set(page, Math.max(pageHeights.get(page), shelfY + height));
+		}
+		// Copy the images into their pages
+		final BufferedImage[] pages = new BufferedImage[pageHeights.size()];
+		final Graphics2D[] graphics = new Graphics2D[pages.length];
+		for (int index = 0; index < pages.length; index += 1) {
+			pages[index] = Images.createCompatibleImage(pageWidth, pageHeights.get(index),
+					opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+			graphics[index] = pages[index].createGraphics();
+		}
+		final Region[] regions = new Region[images.length];
+		for (int index = 0; index < images.length; index += 1) {
+			graphics[pageIndices[index]].drawImage(images[index], xs[index], ys[index], null);
+			regions[index] = new Region(pages[pageIndices[index]], xs[index], ys[index], images[index].getWidth(),
+					images[index].getHeight());
+		}
+		for (final Graphics2D pageGraphics : graphics) {
+			pageGraphics.dispose();
+		}
+		return new TextureAtlas(pages, regions);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public Region region(final int index) {
+		return this.regions[index];
+	}
+
+	/**
+	 * @return every region, in the packing order (do not modify)
+	 */
+	public Region[] regions() {
+		return this.regions;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public int regionsCount() {
+		return this.regions.length;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public BufferedImage page(final int index) {
+		return this.pages[index];
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public int pagesCount() {
+		return this.pages.length;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TextureAtlas (params: regions=%d, pages=%d)", this.regions.length, this.pages.length);
+	}
+
+	/**
+	 * A rectangular part of a page holding a single packed image.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	public static final class Region {
+		private final BufferedImage page;
+		private final int x, y, width, height;
+
+		private Region(final BufferedImage page, final int x, final int y, final int width, final int height) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * Self explanatory.
+		 */
+		public BufferedImage page() {
+			return this.page;
+		}
+
+		/**
+		 * Self explanatory.
+		 */
+		public int x() {
+			return this.x;
+		}
+
+		/**
+		 * Self explanatory.
+		 */
+		public int y() {
+			return this.y;
+		}
+
+		/**
+		 * Self explanatory.
+		 */
+		public int width() {
+			return this.width;
+		}
+
+		/**
+		 * Self explanatory.
+		 */
+		public int height() {
+			return this.height;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Region (params: x=%d, y=%d, width=%d, height=%d)", this.x, this.y, this.width,
+					this.height);
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+
+/**
+ *
+ * Software mixer behind {@link Audios}: a single thread mixes every playing
+ * {@link Voice} block by block & writes the result to a single output line, so
+ * the number of overlapping sounds doesn't cost any extra thread or native
+ * line. Writing to the line blocks, which is what paces the mixing thread.
+ * Voices come from a fixed pool & every sound can be given a polyphony limit:
+ * once the pool or a sound's limit is full a voice is stolen (or the new one
+ * rejected) following a {@link StealPolicy}, so playing a sound doesn't
+ * allocate & its cost stays bounded however often it's triggered.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class AudioMixer {
+	// Output format, every sound is converted to it
+	public static final AudioFormat FORMAT = new AudioFormat(44100.0F, 16, 2, true, false);
+	// Frames mixed at once (about 12 ms), the line buffers a few blocks
+	public static final int BLOCK_FRAMES = 512, BUFFERED_BLOCKS = 4;
+	// Voices in the pool, the most sounds that can be heard at once
+	public static final int DEFAULT_VOICES = 64;
+
+	/**
+	 * What happens when a sound is played while its polyphony limit - or the
+	 * pool - is full.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	public enum StealPolicy {
+		// Stops the voice which was started first
+		OLDEST,
+		// Stops the voice with the lowest volume (the oldest of them if tied)
+		QUIETEST,
+		// Doesn't play the new sound
+		REJECT;
+	}
+
+	/**
+	 * Used internally, a sound's polyphony limit.
+	 *
+	 * @author Skander Jeddi
+	 *
+	 */
+	private static final class Polyphony {
+		private final int maximumVoices;
+		private final StealPolicy stealPolicy;
+
+		private Polyphony(final int maximumVoices, final StealPolicy stealPolicy) {
+			this.maximumVoices = maximumVoices;
+			this.stealPolicy = stealPolicy;
+		}
+	}
+
+	// Every voice, playing or not - only changed while holding the mixer's lock
+	private final VoiceSlot[] voices;
+	// Polyphony limits by sound & what to do when the whole pool is in use
+	private final Map<String, Polyphony> polyphoniesMap;
+	private volatile StealPolicy stealPolicy;
+	// Incremented whenever a voice starts, orders voices by age
+	private long triggers;
+	// Mixing buffers, only used by the mixing thread
+	private final float[] mix;
+	private final short[] scratch;
+	private final byte[] output;
+	// Applied on top of every voice's volume
+	private volatile float masterVolume;
+	// Output line & mixing thread, created when first needed
+	private SourceDataLine line;
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Used by {@link Audios}.
+	 */
+	AudioMixer() {
+		this.voices = new VoiceSlot[AudioMixer.DEFAULT_VOICES];
+		for (int index = 0; index < this.voices.length; index += 1) {
+			this.voices[index] = new VoiceSlot();
+		}
+		this.polyphoniesMap = new ConcurrentHashMap<>();
+		this.stealPolicy = StealPolicy.OLDEST;
+		this.triggers = 0;
+		this.mix = new float[AudioMixer.BLOCK_FRAMES * 2];
+		this.scratch = new short[AudioMixer.BLOCK_FRAMES * 2];
+		this.output = new byte[AudioMixer.BLOCK_FRAMES * AudioMixer.FORMAT.getFrameSize()];
+		this.masterVolume = 1.0F;
+		this.line = null;
+		this.thread = null;
+		this.running = false;
+	}
+
+	/**
+	 * Opens the output line & starts the mixing thread if that's not done yet.
+	 * Returns false if no line is available.
+	 */
+	synchronized boolean start() {
+		if (this.running) {
+			return true;
+		}
+		try {
+			this.line = AudioSystem.getSourceDataLine(AudioMixer.FORMAT);
+			this.line.open(AudioMixer.FORMAT, this.output.length * AudioMixer.BUFFERED_BLOCKS);
+			this.line.start();
+		} catch (final LineUnavailableException | IllegalArgumentException exception) {
+			Logger.log(AudioMixer.class, LogLevel.SEVERE, "Could not open the audio output line: %s",
+					exception.getMessage());
+			this.line = null;
+			return false;
+		}
+		this.running = true;
+		this.thread = new Thread(this::mixLoop, "audio-mixer");
+		this.thread.setDaemon(true);
+		this.thread.setPriority(Thread.MAX_PRIORITY);
+		this.thread.start();
+		Logger.log(AudioMixer.class, LogLevel.DEBUG, "Audio mixer started (%s)", AudioMixer.FORMAT);
+		return true;
+	}
+
+	/**
+	 * Stops every voice, the mixing thread & closes the output line.
+	 */
+	public void shutdown() {
+		final Thread mixingThread;
+		synchronized (this) {
+			if (!this.running) {
+				return;
+			}
+			this.running = false;
+			mixingThread = this.thread;
+		}
+		try {
+			mixingThread.join(1000);
+		} catch (final InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			for (final VoiceSlot voice : this.voices) {
+				if (voice.isActive()) {
+					voice.finish();
+				}
+			}
+			this.line.close();
+			this.line = null;
+			this.thread = null;
+		}
+	}
+
+	/**
+	 * Used by {@link Audios}. Returns the new playback's handle identifier (see
+	 * {@link #voice(long, String)}) or -1 if the output line couldn't be opened or
+	 * the sound's voices are full & its policy rejects new ones.
+	 */
+	synchronized long play(final String identifier, final PcmSound sound, final float volume, final int loops) {
+		final int index = this.allocate(identifier);
+		if (index == -1) {
+			return -1;
+		}
+		this.voices[index].start(identifier, sound, volume, loops, this.triggers += 1);
+		return this.handle(index);
+	}
+
+	/**
+	 * Used by {@link Audios}, same as above for any source. The caller closes the
+	 * source if -1 is returned.
+	 */
+	synchronized long play(final String identifier, final SoundSource source, final float volume, final int loops) {
+		final int index = this.allocate(identifier);
+		if (index == -1) {
+			return -1;
+		}
+		this.voices[index].start(identifier, source, volume, loops, this.triggers += 1);
+		return this.handle(index);
+	}
+
+	/**
+	 * Used internally, packs a voice's index & current generation so playing
+	 * doesn't allocate a handle nobody asked for.
+	 */
+	private long handle(final int index) {
+		return ((long) index << 32) | (this.voices[index].generation() & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Used by {@link Audios}, the handle of a playback returned by
+	 * {@link #play(String, PcmSound, float, int)}. Null if it's -1.
+	 */
+	Voice voice(final long handle, final String identifier) {
+		if (handle == -1) {
+			return null;
+		}
+		return new Voice(this.voices[(int) (handle >>> 32)], (int) handle, identifier);
+	}
+
+	/**
+	 * Used internally, finds a voice for a new playback of the provided sound:
+	 * stealing one from the sound if its limit is reached, a free one otherwise,
+	 * stealing one from any sound if there's none. Returns its index, -1 if none.
+	 */
+	private int allocate(final String identifier) {
+		if (!this.start()) {
+			return -1;
+		}
+		final Polyphony polyphony = this.polyphoniesMap.get(identifier);
+		if (polyphony != null) {
+			int playing = 0;
+			for (final VoiceSlot voice : this.voices) {
+				if (voice.isActive() && !voice.isStopped() && identifier.equals(voice.identifier())) {
+					playing += 1;
+				}
+			}
+			if (playing >= polyphony.maximumVoices) {
+				return this.steal(identifier, polyphony.stealPolicy);
+			}
+		}
+		for (int index = 0; index < this.voices.length; index += 1) {
+			final VoiceSlot voice = this.voices[index];
+			if (!voice.isActive()) {
+				return index;
+			}
+			if (voice.isStopped()) {
+				voice.finish();
+				return index;
+			}
+		}
+		return this.steal(null, this.stealPolicy);
+	}
+
+	/**
+	 * Used internally, frees a playing voice of the provided sound (any sound if
+	 * null) following the policy. Returns its index, -1 if the policy rejects.
+	 */
+	private int steal(final String identifier, final StealPolicy policy) {
+		if (policy == StealPolicy.REJECT) {
+			return -1;
+		}
+		int victim = -1;
+		for (int index = 0; index < this.voices.length; index += 1) {
+			final VoiceSlot voice = this.voices[index];
+			if (!voice.isActive() || ((identifier != null) && !identifier.equals(voice.identifier()))) {
+				continue;
+			}
+			if ((victim == -1) || ((policy == StealPolicy.QUIETEST) && (voice.volume() < this.voices[victim].volume()))
+					|| (((policy == StealPolicy.OLDEST) || (voice.volume() == this.voices[victim].volume()))
+							&& (voice.startStamp() < this.voices[victim].startStamp()))) {
+				victim = index;
+			}
+		}
+		if (victim != -1) {
+			this.voices[victim].finish();
+		}
+		return victim;
+	}
+
+	/**
+	 * Used internally by the mixing thread.
+	 */
+	private void mixLoop() {
+		final SourceDataLine line = this.line;
+		while (this.running) {
+			Arrays.fill(this.mix, 0.0F);
+			final float master = this.masterVolume;
+			synchronized (this) {
+				for (final VoiceSlot voice : this.voices) {
+					if (voice.isActive() && !voice.mix(this.mix, this.scratch, AudioMixer.BLOCK_FRAMES, master)) {
+						voice.finish();
+					}
+				}
+			}
+			for (int sample = 0; sample < this.mix.length; sample += 1) {
+				final int value = (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, this.mix[sample]));
+				this.output[sample * 2] = (byte) value;
+				this.output[(sample * 2) + 1] = (byte) (value >> 8);
+			}
+			line.write(this.output, 0, this.output.length);
+		}
+	}
+
+	/**
+	 * @return a handle over every playing voice, as a snapshot: the handles of
+	 *         voices ending afterwards do nothing
+	 */
+	public synchronized Voice[] voices() {
+		return Arrays.stream(this.voices).filter(VoiceSlot::isActive)
+				.map(voice -> new Voice(voice, voice.generation(), voice.identifier())).toArray(Voice[]::new);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public synchronized int voicesCount() {
+		int count = 0;
+		for (final VoiceSlot voice : this.voices) {
+			if (voice.isActive()) {
+				count += 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Stops every playing voice.
+	 */
+	public synchronized void stopAll() {
+		for (final VoiceSlot voice : this.voices) {
+			if (voice.isActive()) {
+				voice.stop(voice.generation());
+			}
+		}
+	}
+
+	/**
+	 * Stops every playing voice of the provided sound, used when it's unloaded.
+	 */
+	synchronized void stop(final String identifier) {
+		for (final VoiceSlot voice : this.voices) {
+			if (voice.isActive() && identifier.equals(voice.identifier())) {
+				voice.stop(voice.generation());
+			}
+		}
+	}
+
+	/**
+	 * Limits how many voices can play the provided sound at once & what happens
+	 * when it's played past that limit.
+	 */
+	public void setPolyphony(final String identifier, final int maximumVoices, final StealPolicy stealPolicy) {
+		if (maximumVoices < 1) {
+			throw new IllegalArgumentException("Maximum voices not valid: " + maximumVoices);
+		}
+		this.polyphoniesMap.put(identifier, new Polyphony(maximumVoices, stealPolicy));
+	}
+
+	/**
+	 * Removes the provided sound's polyphony limit.
+	 */
+	public void clearPolyphony(final String identifier) {
+		this.polyphoniesMap.remove(identifier);
+	}
+
+	/**
+	 * What happens when a sound is played while every voice of the pool is in use,
+	 * {@link StealPolicy#OLDEST} by default.
+	 */
+	public void setStealPolicy(final StealPolicy stealPolicy) {
+		this.stealPolicy = stealPolicy;
+	}
+
+	/**
+	 * Self explanatory. Between 0 & 1.
+	 */
+	public float masterVolume() {
+		return this.masterVolume;
+	}
+
+	/**
+	 * Self explanatory. Between 0 & 1.
+	 */
+	public void setMasterVolume(final float masterVolume) {
+		if ((masterVolume < 0f) || (masterVolume > 1f)) {
+			throw new IllegalArgumentException("Volume not valid: " + masterVolume);
+		}
+		this.masterVolume = masterVolume;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AudioMixer (params: format=%s, voices=%d/%d, running=%b)", AudioMixer.FORMAT,
+				this.voicesCount(), this.voices.length, this.running);
+	}
+}
@@ -1,66 +1,105 @@
 package com.skanderj.lucidityengine.resources.audio;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.LineEvent.Type;
-import javax.sound.sampled.LineListener;
-import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import com.skanderj.lucidityengine.logging.Logger;
 import com.skanderj.lucidityengine.logging.Logger.LogLevel;
-import com.skanderj.lucidityengine.resources.Fonts;
+import com.skanderj.lucidityengine.resources.AssetPack;
+import com.skanderj.lucidityengine.resources.HotReloader;
+import com.skanderj.lucidityengine.resources.ResourceManager;
+import com.skanderj.lucidityengine.resources.audio.AudioMixer.StealPolicy;
 
 /**
  * A class used for handling all audio purposes. Can't be instantiated, only
- * static methods. Can handle as much audio as you throw at it. Files must be
+ * static methods. Can handle as much audio as you throw at it: every playback
+ * is a {@link Voice} of a single software {@link AudioMixer}. Files must be
  * .WAV.
  *
  * @author Skander Jeddi
  *
  */
 public final class Audios {
-	// Reusable audio streams map - how we can play multiple sounds at once over and
-	// over
-	public static final Map<String, AudioInputStream> audioMap = new HashMap<>();
-	// Clips map to handle pausing, playing, resuming...
-	public static final Map<String, Clip> clipsMap = new HashMap<>();
-	// Threads map, wrappers for each individual clip
-	public static final Map<String, Thread> threadsMap = new HashMap<>();
-	// Keep track of which clips are paused
-	public static final Set<String> pausesMap = new HashSet<>();
+	// Audios decoded to the mixer's format - playing is a straight copy & any
+	// number of voices can share one
+	public static final Map<String, PcmSound> audioMap = new ConcurrentHashMap<>();
+	// Streamed audios, decoded from their file while they play
+	private static final Map<String, File> streamsMap = new ConcurrentHashMap<>();
+	// Mixes every playing voice into a single output line
+	private static final AudioMixer mixer = new AudioMixer();
 
 	private Audios() {
 		return;
 	}
 
 	/**
-	 * Loads an audio from the provided path. File must be .WAV format. Returns true
-	 * if the audio was successfully registered, false otherwise.
+	 * Loads an audio from the provided path, decoding it to the mixer's format
+	 * (see {@link AudioMixer#FORMAT}). File must be .WAV format. Returns true if
+	 * the audio was successfully registered, false otherwise.
 	 */
 	public static boolean load(final String identifier, final String path) {
 		final long startTime = System.currentTimeMillis();
+		HotReloader.track(path, "audio:" + identifier,
+				() -> ResourceManager.reload(identifier, () -> Audios.load(identifier, path)));
 		final File soundFile = new File(path);
-		AudioInputStream reusableAudioInputStream;
+		try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(soundFile)) {
+			final PcmSound sound = PcmSound.decode(audioInputStream);
+			final long endTime = System.currentTimeMillis();
+			Audios.audioMap.put(identifier, sound);
+			Logger.log(Audios.class, LogLevel.INFO, "Audio loaded: '%s' <- %s (%d ms)", identifier, soundFile.getPath(),
+					endTime - startTime);
+			return true;
+		} catch (IOException | UnsupportedAudioFileException exception) {
+			Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while loading audio from %s: %s", path,
+					exception.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Loads an audio from an {@link AssetPack} entry. Packs store audio in the
+	 * mixer's format so this is a plain copy. Returns true if the audio was
+	 * successfully registered, false otherwise.
+	 */
+	public static boolean load(final String identifier, final AssetPack pack, final String entry) {
+		final long startTime = System.currentTimeMillis();
 		try {
-			reusableAudioInputStream = Audios.createReusableAudioInputStream(soundFile);
+			final PcmSound sound = PcmSound.decode(pack.audio(entry));
 			final long endTime = System.currentTimeMillis();
-			Audios.audioMap.put(identifier, reusableAudioInputStream);
-			Logger.log(Fonts.class, LogLevel.INFO, "Audio loaded: '%s' <- %s (%d ms)", identifier, soundFile.getPath(),
+			Audios.audioMap.put(identifier, sound);
+			Logger.log(Audios.class, LogLevel.INFO, "Audio loaded: '%s' <- %s (%d ms)", identifier, entry,
 					endTime - startTime);
 			return true;
+		} catch (final IOException exception) {
+			Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while loading audio from %s: %s", entry,
+					exception.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Registers a long audio (music, ambiences...) to be streamed from the
+	 * provided path: it's never held in memory, every voice decodes it chunk by
+	 * chunk into a small buffer while playing. Short sounds should be loaded
+	 * normally. Returns true if the audio was successfully registered, false
+	 * otherwise.
+	 */
+	public static boolean loadStream(final String identifier, final String path) {
+		final File soundFile = new File(path);
+		try {
+			final AudioFileFormat fileFormat = AudioSystem.getAudioFileFormat(soundFile);
+			Audios.streamsMap.put(identifier, soundFile);
+			Logger.log(Audios.class, LogLevel.INFO, "Audio stream registered: '%s' <- %s (%s)", identifier,
+					soundFile.getPath(), fileFormat.getFormat());
+			return true;
 		} catch (IOException | UnsupportedAudioFileException exception) {
 			Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while loading audio from %s: %s", path,
 					exception.getMessage());
@@ -68,6 +107,29 @@ public final class Audios {
 		}
 	}
 
+	/**
+	 * Removes an audio & stops its playing voices. Returns true if it was loaded,
+	 * false otherwise.
+	 */
+	public static boolean unload(final String identifier) {
+		Audios.mixer.stop(identifier);
+		final boolean streamed = Audios.streamsMap.remove(identifier) != null;
+		return (Audios.audioMap.remove(identifier) != null) || streamed;
+	}
+
+	/**
+	 * Used internally to look an audio up, loading it if it's managed by the
+	 * {@link ResourceManager}.
+	 */
+	private static PcmSound resolve(final String identifier) {
+		final PcmSound sound = Audios.audioMap.get(identifier);
+		if (sound == null) {
+			return ResourceManager.materialize(identifier, Audios.audioMap::get);
+		}
+		ResourceManager.touch(identifier);
+		return sound;
+	}
+
 	/**
 	 * Loads all the audio files in the provided directory while adding "_0, _1, _2"
 	 * to the identifier. Returns true if successful, false otherwise.
@@ -102,316 +164,182 @@ public final class Audios {
 	 * Self explanatory. Returns true if successful, false otherwise.
 	 */
 	public static boolean play(final String identifier, final float volume) {
-		final AudioInputStream stream = Audios.audioMap.get(identifier);
-		if (stream == null) {
-			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
-					"Could not find audio with identifier '%s'", identifier);
-			return false;
-		} else {
-			try {
-				stream.reset();
-				return Audios.play(identifier, stream, volume);
-			} catch (final IOException exception) {
-				Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while trying to play audio '%s': %s",
-						identifier, exception.getMessage());
-				return false;
-			}
-		}
+		return Audios.startVoice(identifier, volume, 0) != -1;
 	}
 
 	/**
-	 * Self explanatory. Uses the stream to create a clip and then wrap the clip in
-	 * a thread and start it. Registering everything in the corresponding maps.
-	 * Returns true if successful, false otherwise.
+	 * Plays an audio once & returns the handle of the new voice, or null if it
+	 * couldn't be played. Volume must be between 0f and 1f.
 	 */
-	private static boolean play(final String identifier, final AudioInputStream audioInputStream, final float volume) {
-		class AudioListener implements LineListener {
-			private boolean isDone = false;
+	public static Voice playVoice(final String identifier, final float volume) {
+		return Audios.mixer.voice(Audios.startVoice(identifier, volume, 0), identifier);
+	}
 
-			@Override
-			public synchronized void update(final LineEvent event) {
-				final Type eventType = event.getType();
-				if (eventType == Type.CLOSE) {
-					this.isDone = true;
-					this.notifyAll();
-				}
-			}
+	/**
+	 * Self explanatory. Returns true if successful, false otherwise. -1 to loop
+	 * indefinitely. Plays audio at full volume.
+	 */
+	public static boolean loop(final String identifier, final int count) {
+		return Audios.loop(identifier, count, 1.0F);
+	}
 
-			public synchronized void waitUntilDone() throws InterruptedException {
-				while (!this.isDone) {
-					this.wait();
-				}
-			}
+	/**
+	 * Self explanatory. Returns true if successful, false otherwise. -1 to loop
+	 * indefinitely.
+	 */
+	public static boolean loop(final String identifier, final int count, final double volume) {
+		return Audios.startVoice(identifier, (float) volume, Audios.loops(count)) != -1;
+	}
+
+	/**
+	 * Plays an audio count times (-1 to loop indefinitely) & returns the handle of
+	 * the new voice, or null if it couldn't be played. Volume must be between 0f
+	 * and 1f.
+	 */
+	public static Voice loopVoice(final String identifier, final int count, final float volume) {
+		return Audios.mixer.voice(Audios.startVoice(identifier, volume, Audios.loops(count)), identifier);
+	}
+
+	/**
+	 * Used internally, how many times a voice played count times restarts.
+	 */
+	private static int loops(final int count) {
+		return count == -1 ? -1 : Math.max(0, count - 1);
+	}
+
+	/**
+	 * Used internally, returns the mixer's handle identifier of the new voice or
+	 * -1.
+	 */
+	private static long startVoice(final String identifier, final float volume, final int loops) {
+		if ((volume < 0f) || (volume > 1f)) {
+			throw new IllegalArgumentException("Volume not valid: " + volume);
 		}
-		final AudioListener listener = new AudioListener();
-		final Thread thread = new Thread(() -> {
+		final File streamFile = Audios.streamsMap.get(identifier);
+		if (streamFile != null) {
 			try {
-				final Clip clip = AudioSystem.getClip();
-				clip.addLineListener(listener);
-				clip.open(audioInputStream);
-				try {
-					final FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-					gainControl.setValue(20f * (float) Math.log10(volume));
-					clip.start();
-					Audios.clipsMap.put(identifier, clip);
-					try {
-						listener.waitUntilDone();
-					} catch (final InterruptedException interruptedException) {
-						Logger.log(Audios.class, LogLevel.IGNORE,
-								"An exception occurred while waiting for audio '%s' to finish: %s", identifier,
-								interruptedException.getMessage());
-					}
-				} finally {
-					clip.close();
-					Audios.clipsMap.remove(identifier);
+				final StreamingSource source = StreamingSource.open(streamFile);
+				final long handle = Audios.mixer.play(identifier, source, volume, loops);
+				if (handle == -1) {
+					source.close();
 				}
-			} catch (LineUnavailableException | IOException exception) {
-				Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while trying to play audio '%s': %s",
+				return handle;
+			} catch (IOException | UnsupportedAudioFileException exception) {
+				Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while streaming audio '%s': %s",
 						identifier, exception.getMessage());
-			} finally {
-				try {
-					audioInputStream.close();
-				} catch (final IOException ioException) {
-					Logger.log(Audios.class, LogLevel.SEVERE,
-							"An exception occurred while trying to close audio stream '%s': %s", identifier,
-							ioException.getMessage());
-				}
+				return -1;
 			}
-		});
-		thread.start();
-		Audios.threadsMap.put(identifier, thread);
-		return true;
+		}
+		final PcmSound sound = Audios.resolve(identifier);
+		if (sound == null) {
+			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
+					"Could not find audio with identifier '%s'", identifier);
+			return -1;
+		}
+		return Audios.mixer.play(identifier, sound, volume, loops);
 	}
 
 	/**
-	 * Self explanatory.
+	 * Self explanatory. True if any voice of the audio is paused.
 	 */
 	public static boolean isPaused(final String identifier) {
-		if (Audios.pausesMap.contains(identifier)) {
-			return true;
-		} else {
-			return false;
+		for (final Voice voice : Audios.mixer.voices()) {
+			if (voice.identifier().equals(identifier) && voice.isPaused()) {
+				return true;
+			}
 		}
+		return false;
 	}
 
 	/**
-	 * Self explanatory.
+	 * Self explanatory. Returns the volume of the first voice of the audio, -1 if
+	 * it isn't playing.
 	 */
 	public static float getVolume(final String identifier) {
-		final Clip clip = Audios.clipsMap.get(identifier);
-		if (clip == null) {
-			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
-					"Could not find audio with identifier '%s'", identifier);
-			return -1;
-		} else {
-			final FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-			return (float) Math.pow(10f, gainControl.getValue() / 20f);
+		for (final Voice voice : Audios.mixer.voices()) {
+			if (voice.identifier().equals(identifier)) {
+				return voice.volume();
+			}
 		}
+		Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED, "Could not find audio with identifier '%s'",
+				identifier);
+		return -1;
 	}
 
 	/**
-	 * Sets the volume for a running clip. Volume must be between 0f and 1f.
+	 * Sets the volume for every voice of the audio. Volume must be between 0f and
+	 * 1f.
 	 */
 	public static void setVolume(final String identifier, final float volume) {
-		final Clip clip = Audios.clipsMap.get(identifier);
-		if (clip == null) {
+		if (!Audios.forEachVoice(identifier, voice -> voice.setVolume(volume))) {
 			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
 					"Could not find audio with identifier '%s' (set-v)", identifier);
-		} else {
-			if ((volume < 0f) || (volume > 1f)) {
-				throw new IllegalArgumentException("Volume not valid: " + volume);
-			}
-			final FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-			gainControl.setValue(20f * (float) Math.log10(volume));
 		}
 	}
 
 	/**
-	 * Self explanatory. Returns true if successful, false otherwise.
+	 * Pauses every voice of the audio. Returns true if successful, false
+	 * otherwise.
 	 */
 	public static boolean pause(final String identifier) {
-		final Clip clip = Audios.clipsMap.get(identifier);
-		if (clip == null) {
-			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
-					"Could not find audio with identifier '%s'", identifier);
-			return false;
-		} else {
-			clip.stop();
-			Audios.pausesMap.add(identifier);
-			return true;
-		}
+		return Audios.forEachVoice(identifier, Voice::pause);
 	}
 
 	/**
-	 * Self explanatory. Returns true if successful, false otherwise.
+	 * Resumes every voice of the audio. Returns true if successful, false
+	 * otherwise.
 	 */
 	public static boolean resume(final String identifier) {
-		final Clip clip = Audios.clipsMap.get(identifier);
-		if (clip == null) {
-			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
-					"Could not find audio with identifier '%s'", identifier);
-			return false;
-		} else {
-			clip.start();
-			Audios.pausesMap.remove(identifier);
-			return true;
-		}
+		return Audios.forEachVoice(identifier, Voice::resume);
 	}
 
 	/**
-	 * Self explanatory. Returns true if successful, false otherwise.
+	 * Stops every voice of the audio. Returns true if successful, false otherwise.
 	 */
 	public static boolean stop(final String identifier) {
-		final Clip clip = Audios.clipsMap.get(identifier);
-		if (clip == null) {
-			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
-					"Could not find audio with identifier '%s'", identifier);
-			return false;
-		} else {
-			clip.stop();
-			Audios.threadsMap.get(identifier).interrupt();
-			return true;
-		}
+		return Audios.forEachVoice(identifier, Voice::stop);
 	}
 
 	/**
 	 * Self explanatory. Returns true if successful, false otherwise.
 	 */
 	public static boolean stopAll() {
-		for (final AudioInputStream audioInputStream : Audios.audioMap.values()) {
-			try {
-				audioInputStream.reset();
-				audioInputStream.close();
-			} catch (final IOException ioException) {
-				Logger.log(Audios.class, LogLevel.SEVERE,
-						"An exception occurred while trying to close audio streams '%s': %s", ioException.getMessage());
-				return false;
-			}
-		}
-		for (final Clip clip : Audios.clipsMap.values()) {
-			clip.stop();
-		}
-		for (final Thread thread : Audios.threadsMap.values()) {
-			thread.interrupt();
-		}
+		Audios.mixer.stopAll();
 		return true;
 	}
 
 	/**
-	 * Self explanatory. Returns true if successful, false otherwise. -1 to loop
-	 * indefinitely. Plays audio at full volume.
+	 * Used internally. Returns false if the audio has no voice. Voices ending
+	 * after the snapshot are left alone, even if they're already reused.
 	 */
-	public static boolean loop(final String identifier, final int count) {
-		return Audios.loop(identifier, count, 1.0F);
-	}
-
-	/**
-	 * Self explanatory. Returns true if successful, false otherwise. -1 to loop
-	 * indefinitely.
-	 */
-	public static boolean loop(final String identifier, final int count, final double volume) {
-		final AudioInputStream stream = Audios.audioMap.get(identifier);
-		if (stream == null) {
-			Logger.log(Audios.class, Logger.LogLevel.SEVERE, "Could not find audio stream with identifier '%s'",
-					identifier);
-			return false;
-		} else {
-			try {
-				stream.reset();
-			} catch (final IOException ioException) {
-				Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while trying to play audio '%s': %s",
-						identifier, ioException.getMessage());
-				return false;
+	private static boolean forEachVoice(final String identifier, final Consumer<Voice> action) {
+		boolean found = false;
+		for (final Voice voice : Audios.mixer.voices()) {
+			if (voice.identifier().equals(identifier)) {
+				action.accept(voice);
+				found = true;
 			}
-			return Audios.loop(identifier, count, stream, volume);
 		}
+		if (!found) {
+			Logger.log(Audios.class, Logger.LogLevel.IGNORE_UNLESS_REPEATED,
+					"Could not find audio with identifier '%s'", identifier);
+		}
+		return found;
 	}
 
 	/**
-	 * Self explanatory. Uses the stream to create a clip and then wrap the clip in
-	 * a thread and loop it. Registering everything in the corresponding maps.
-	 * Returns true if successful, false otherwise.
+	 * Limits how many voices can play the provided audio at once, see
+	 * {@link AudioMixer#setPolyphony(String, int, StealPolicy)}.
 	 */
-	private static boolean loop(final String identifier, final int count, final AudioInputStream audioInputStream,
-			final double volume) {
-		class AudioListener implements LineListener {
-			private boolean isDone = false;
-
-			@Override
-			public synchronized void update(final LineEvent event) {
-				final Type eventType = event.getType();
-				if (eventType == Type.CLOSE) {
-					this.isDone = true;
-					this.notifyAll();
-				}
-			}
-
-			public synchronized void waitUntilDone() throws InterruptedException {
-				while (!this.isDone) {
-					this.wait();
-				}
-			}
-		}
-		final AudioListener listener = new AudioListener();
-		final Thread thread = new Thread(() -> {
-			try {
-				final Clip clip = AudioSystem.getClip();
-				clip.addLineListener(listener);
-				clip.open(audioInputStream);
-				try {
-					final FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-					gainControl.setValue(20f * (float) Math.log10(volume));
-					clip.loop(count == -1 ? -1 : count - 1);
-					Audios.clipsMap.put(identifier, clip);
-					listener.waitUntilDone();
-				} catch (final InterruptedException interruptedException) {
-					Logger.log(Audios.class, LogLevel.IGNORE,
-							"An exception occurred while waiting for audio '%s' to finish: %s", identifier,
-							interruptedException.getMessage());
-				} finally {
-					clip.close();
-					Audios.clipsMap.remove(identifier);
-				}
-			} catch (final LineUnavailableException | IOException exception) {
-				Logger.log(Audios.class, LogLevel.SEVERE, "An exception occurred while trying to loop audio '%s': %s",
-						identifier, exception.getMessage());
-			} finally {
-				try {
-					audioInputStream.close();
-				} catch (final IOException ioException) {
-					Logger.log(Audios.class, LogLevel.SEVERE,
-							"An exception occurred while trying to close audio stream '%s': %s", identifier,
-							ioException.getMessage());
-				}
-			}
-		});
-		thread.start();
-		Audios.threadsMap.put(identifier, thread);
-		return true;
+	public static void setPolyphony(final String identifier, final int maximumVoices,
+			final StealPolicy stealPolicy) {
+		Audios.mixer.setPolyphony(identifier, maximumVoices, stealPolicy);
 	}
 
 	/**
-	 * This is where the magic - and the reusable audio streams creation happens.
+	 * Self explanatory.
 	 */
-	private static AudioInputStream createReusableAudioInputStream(final File file)
-			throws IOException, UnsupportedAudioFileException {
-		AudioInputStream audioInputStream = null;
-		try {
-			audioInputStream = AudioSystem.getAudioInputStream(file);
-			final byte[] buffer = new byte[1024 * 32];
-			int read = 0;
-			final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(buffer.length);
-			while ((read = audioInputStream.read(buffer, 0, buffer.length)) != -1) {
-				outputStream.write(buffer, 0, read);
-			}
-			final AudioInputStream reusableAudioInputStream = new AudioInputStream(
-					new ByteArrayInputStream(outputStream.toByteArray()), audioInputStream.getFormat(),
-					AudioSystem.NOT_SPECIFIED);
-			return reusableAudioInputStream;
-		} finally {
-			if (audioInputStream != null) {
-				audioInputStream.close();
-			}
-		}
+	public static AudioMixer mixer() {
+		return Audios.mixer;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+/**
+ * Reads a {@link PcmSound} from start to end. Every pooled {@link Voice} owns
+ * one & points it at whichever sound it plays, so playing a decoded sound
+ * doesn't allocate anything.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class PcmCursor implements SoundSource {
+	private short[] samples;
+	private int position;
+
+	/**
+	 * Used by {@link Voice}.
+	 */
+	PcmCursor() {
+		this.samples = null;
+		this.position = 0;
+	}
+
+	/**
+	 * Starts reading the provided sound from its beginning.
+	 */
+	PcmCursor reset(final PcmSound sound) {
+		this.samples = sound.samples();
+		this.position = 0;
+		return this;
+	}
+
+	@Override
+	public int read(final short[] buffer, final int frames) {
+		final int count = Math.min(frames * 2, this.samples.length - this.position);
+		System.arraycopy(this.samples, this.position, buffer, 0, count);
+		this.position += count;
+		return count / 2;
+	}
+
+	@Override
+	public boolean rewind() {
+		this.position = 0;
+		return true;
+	}
+
+	@Override
+	public void close() {
+		this.samples = null;
+	}
+}
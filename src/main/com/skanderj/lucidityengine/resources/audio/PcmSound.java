@@ -0,0 +1,147 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * A fully decoded sound in the mixer's format (see {@link AudioMixer#FORMAT}):
+ * 16 bit stereo interleaved samples at the mixer's sample rate. Immutable, any
+ * number of voices can play it at the same time.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class PcmSound {
+	// Interleaved left/right samples
+	private final short[] samples;
+
+	/**
+	 * Used internally, see {@link #decode(AudioInputStream)}.
+	 */
+	private PcmSound(final short[] samples) {
+		this.samples = samples;
+	}
+
+	/**
+	 * Decodes the whole stream, converting it to the mixer's format: samples are
+	 * converted to 16 bit, mono is duplicated on both channels (only the first two
+	 * channels of anything else are kept) & the sample rate is converted with a
+	 * linear interpolation.
+	 */
+	public static PcmSound decode(final AudioInputStream stream) throws IOException {
+		final AudioFormat sourceFormat = stream.getFormat();
+		final byte[] bytes = PcmSound.toPcm(stream).readAllBytes();
+		final int frames = bytes.length / (sourceFormat.getChannels() * 2);
+		final short[] stereo = new short[frames * 2];
+		PcmSound.toStereo(bytes, frames, sourceFormat.getChannels(), stereo);
+		return new PcmSound(
+				PcmSound.resample(stereo, sourceFormat.getSampleRate(), AudioMixer.FORMAT.getSampleRate()));
+	}
+
+	/**
+	 * Used internally & by {@link StreamingSource}, converts the stream to 16 bit
+	 * little endian samples while keeping its sample rate & channels.
+	 */
+	static AudioInputStream toPcm(final AudioInputStream stream) throws IOException {
+		final AudioFormat sourceFormat = stream.getFormat();
+		final int channels = sourceFormat.getChannels();
+		final AudioFormat decodedFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED,
+				sourceFormat.getSampleRate(), 16, channels, channels * 2, sourceFormat.getSampleRate(), false);
+		if (sourceFormat.matches(decodedFormat)) {
+			return stream;
+		}
+		try {
+			return AudioSystem.getAudioInputStream(decodedFormat, stream);
+		} catch (final IllegalArgumentException exception) {
+			throw new IOException("unsupported audio format: " + sourceFormat, exception);
+		}
+	}
+
+	/**
+	 * Used internally & by {@link StreamingSource}, converts 16 bit little endian
+	 * frames to stereo samples: mono is duplicated on both channels, only the first
+	 * two channels of anything else are kept.
+	 */
+	static void toStereo(final byte[] bytes, final int frames, final int channels, final short[] stereo) {
+		for (int frame = 0; frame < frames; frame += 1) {
+			final int offset = frame * channels * 2;
+			final short left = (short) ((bytes[offset] & 0xFF) | (bytes[offset + 1] << 8));
+			final short right = channels == 1 ? left
+					: (short) ((bytes[offset + 2] & 0xFF) | (bytes[offset + 3] << 8));
+			stereo[frame * 2] = left;
+			stereo[(frame * 2) + 1] = right;
+		}
+	}
+
+	/**
+	 * Used internally, linear interpolation between neighbouring frames.
+	 */
+	private static short[] resample(final short[] stereo, final float sourceRate, final float targetRate) {
+		if ((sourceRate == targetRate) || (stereo.length == 0)) {
+			return stereo;
+		}
+		final int sourceFrames = stereo.length / 2;
+		final double step = sourceRate / (double) targetRate;
+		final int targetFrames = (int) (sourceFrames / step);
+		final short[] resampled = new short[targetFrames * 2];
+		for (int frame = 0; frame < targetFrames; frame += 1) {
+			final double position = frame * step;
+			final int first = (int) position;
+			final int second = Math.min(first + 1, sourceFrames - 1);
+			final double fraction = position - first;
+			for (int channel = 0; channel < 2; channel += 1) {
+				final double a = stereo[(first * 2) + channel], b = stereo[(second * 2) + channel];
+				resampled[(frame * 2) + channel] = (short) Math.round(a + ((b - a) * fraction));
+			}
+		}
+		return resampled;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public int frames() {
+		return this.samples.length / 2;
+	}
+
+	/**
+	 * @return the duration in seconds
+	 */
+	public double duration() {
+		return this.frames() / (double) AudioMixer.FORMAT.getSampleRate();
+	}
+
+	/**
+	 * @return the memory used by the samples, in bytes
+	 */
+	public long size() {
+		return this.samples.length * 2L;
+	}
+
+	/**
+	 * @return the samples as little endian bytes, as the mixer's format expects
+	 */
+	public byte[] bytes() {
+		final byte[] bytes = new byte[this.samples.length * 2];
+		for (int sample = 0; sample < this.samples.length; sample += 1) {
+			bytes[sample * 2] = (byte) this.samples[sample];
+			bytes[(sample * 2) + 1] = (byte) (this.samples[sample] >> 8);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Used by {@link PcmCursor}.
+	 */
+	short[] samples() {
+		return this.samples;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PcmSound (params: frames=%d, duration=%.3f s)", this.frames(), this.duration());
+	}
+}
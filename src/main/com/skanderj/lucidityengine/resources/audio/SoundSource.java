@@ -0,0 +1,27 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+/**
+ * Where a {@link Voice} reads its samples from. Samples are 16 bit, stereo
+ * interleaved & already at the mixer's sample rate (see
+ * {@link AudioMixer#FORMAT}).
+ *
+ * @author Skander Jeddi
+ *
+ */
+interface SoundSource {
+	/**
+	 * Reads up to the provided number of frames, returns how many were read (0
+	 * once the end is reached).
+	 */
+	int read(short[] buffer, int frames);
+
+	/**
+	 * Goes back to the beginning, used for looping. Returns false if it can't.
+	 */
+	boolean rewind();
+
+	/**
+	 * Releases whatever the source holds, called once its voice is done.
+	 */
+	void close();
+}
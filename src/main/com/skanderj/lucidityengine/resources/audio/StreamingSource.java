@@ -0,0 +1,251 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+
+/**
+ * A {@link SoundSource} decoding its file chunk by chunk while it plays, used
+ * for long tracks (music, ambiences...) which would cost tens of MB once fully
+ * decoded. A single streaming thread decodes every playing stream into its
+ * small ring buffer & the mixer thread empties it, so the memory used doesn't
+ * depend on the track's length. If the streaming thread falls behind the voice
+ * plays silence instead of blocking the mixer.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class StreamingSource implements SoundSource {
+	// Ring buffer size (about 370 ms at 44.1 kHz) & decoded frames per chunk
+	public static final int RING_FRAMES = 16384, CHUNK_FRAMES = 4096;
+
+	// Every open stream, refilled by the streaming thread
+	private static final Queue<StreamingSource> sources = new ConcurrentLinkedQueue<>();
+	private static Thread streamingThread;
+
+	private final File file;
+	// Interleaved stereo samples, written by the streaming thread & read by the
+	// mixer thread - positions only ever grow & are in samples
+	private final short[] ring;
+	private volatile long writePosition, readPosition;
+	// Set once the whole file was decoded, rewinding reopens it
+	private volatile boolean ended, rewindRequested, closed;
+	// Decoding state, only touched by the thread refilling the ring
+	private AudioInputStream stream;
+	private byte[] bytes;
+	private short[] chunk;
+	private int channels;
+	private double step, phase;
+	private short previousLeft, previousRight;
+
+	/**
+	 * Used internally, see {@link #open(File)}.
+	 */
+	private StreamingSource(final File file) {
+		this.file = file;
+		this.ring = new short[StreamingSource.RING_FRAMES * 2];
+		this.writePosition = 0;
+		this.readPosition = 0;
+		this.ended = false;
+		this.rewindRequested = false;
+		this.closed = false;
+	}
+
+	/**
+	 * Opens the file, decodes its first chunk & hands it to the streaming thread.
+	 */
+	static StreamingSource open(final File file) throws IOException, UnsupportedAudioFileException {
+		final StreamingSource source = new StreamingSource(file);
+		source.openStream();
+		source.refill();
+		StreamingSource.sources.add(source);
+		StreamingSource.startStreaming();
+		return source;
+	}
+
+	/**
+	 * Used internally, starts the streaming thread if it isn't running.
+	 */
+	private static synchronized void startStreaming() {
+		if (StreamingSource.streamingThread != null) {
+			return;
+		}
+		StreamingSource.streamingThread = new Thread(StreamingSource::streamLoop, "audio-streamer");
+		StreamingSource.streamingThread.setDaemon(true);
+		StreamingSource.streamingThread.setPriority(Thread.MAX_PRIORITY - 1);
+		StreamingSource.streamingThread.start();
+	}
+
+	/**
+	 * Used internally by the streaming thread, which sleeps whenever every ring is
+	 * full.
+	 */
+	private static void streamLoop() {
+		while (true) {
+			boolean decoded = false;
+			for (final StreamingSource source : StreamingSource.sources) {
+				if (source.closed) {
+					StreamingSource.sources.remove(source);
+					source.closeStream();
+				} else {
+					decoded |= source.refill();
+				}
+			}
+			if (!decoded) {
+				try {
+					Thread.sleep(5);
+				} catch (final InterruptedException exception) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Used internally to (re)open the file at its beginning.
+	 */
+	private void openStream() throws IOException, UnsupportedAudioFileException {
+		this.closeStream();
+		final AudioInputStream fileStream = AudioSystem
+				.getAudioInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+		this.stream = PcmSound.toPcm(fileStream);
+		this.channels = this.stream.getFormat().getChannels();
+		this.step = this.stream.getFormat().getSampleRate() / (double) AudioMixer.FORMAT.getSampleRate();
+		this.phase = 0;
+		if ((this.bytes == null) || (this.bytes.length != (StreamingSource.CHUNK_FRAMES * this.channels * 2))) {
+			this.bytes = new byte[StreamingSource.CHUNK_FRAMES * this.channels * 2];
+		}
+		if (this.chunk == null) {
+			this.chunk = new short[StreamingSource.CHUNK_FRAMES * 2];
+		}
+	}
+
+	/**
+	 * Used internally.
+	 */
+	private void closeStream() {
+		if (this.stream == null) {
+			return;
+		}
+		try {
+			this.stream.close();
+		} catch (final IOException exception) {
+			Logger.log(StreamingSource.class, LogLevel.ERROR, "Could not close stream of %s: %s", this.file,
+					exception.getMessage());
+		}
+		this.stream = null;
+	}
+
+	/**
+	 * Used internally, decodes one chunk if the ring has room for it. Returns true
+	 * if anything was decoded.
+	 */
+	private boolean refill() {
+		try {
+			if (this.rewindRequested) {
+				this.openStream();
+				this.ended = false;
+				this.rewindRequested = false;
+			}
+			if (this.ended || (this.stream == null)) {
+				return false;
+			}
+			final int resampledFrames = (int) Math.ceil((StreamingSource.CHUNK_FRAMES + 1) / this.step) + 1;
+			if ((this.ring.length - (this.writePosition - this.readPosition)) < (resampledFrames * 2)) {
+				return false;
+			}
+			final int frameSize = this.channels * 2;
+			int length = 0;
+			while (length < this.bytes.length) {
+				final int read = this.stream.read(this.bytes, length, this.bytes.length - length);
+				if (read == -1) {
+					break;
+				}
+				length += read;
+			}
+			final int frames = length / frameSize;
+			if (frames == 0) {
+				this.ended = true;
+				return false;
+			}
+			PcmSound.toStereo(this.bytes, frames, this.channels, this.chunk);
+			this.write(frames);
+			return true;
+		} catch (final IOException | UnsupportedAudioFileException exception) {
+			Logger.log(StreamingSource.class, LogLevel.SEVERE, "An exception occurred while streaming %s: %s",
+					this.file, exception.getMessage());
+			this.ended = true;
+			return false;
+		}
+	}
+
+	/**
+	 * Used internally, resamples the decoded chunk into the ring. The last frame of
+	 * the previous chunk is kept so the interpolation carries over chunks.
+	 */
+	private void write(final int frames) {
+		long position = this.writePosition;
+		while (this.phase < (frames - 1)) {
+			final int first = (int) Math.floor(this.phase);
+			final double fraction = this.phase - first;
+			final int second = first + 1;
+			final int firstLeft = first < 0 ? this.previousLeft : this.chunk[first * 2];
+			final int firstRight = first < 0 ? this.previousRight : this.chunk[(first * 2) + 1];
+			final int secondLeft = this.chunk[second * 2], secondRight = this.chunk[(second * 2) + 1];
+			final int index = (int) (position % this.ring.length);
+			this.ring[index] = (short) Math.round(firstLeft + ((secondLeft - firstLeft) * fraction));
+			this.ring[index + 1] = (short) Math.round(firstRight + ((secondRight - firstRight) * fraction));
+			position += 2;
+			this.phase += this.step;
+		}
+		this.phase -= frames;
+		this.previousLeft = this.chunk[(frames - 1) * 2];
+		this.previousRight = this.chunk[((frames - 1) * 2) + 1];
+		this.writePosition = position;
+	}
+
+	@Override
+	public int read(final short[] buffer, final int frames) {
+		final long available = this.writePosition - this.readPosition;
+		if ((available == 0) && this.ended && !this.rewindRequested) {
+			return 0;
+		}
+		final int count = (int) Math.min(frames * 2, available);
+		long position = this.readPosition;
+		for (int sample = 0; sample < count; sample += 1) {
+			buffer[sample] = this.ring[(int) (position % this.ring.length)];
+			position += 1;
+		}
+		this.readPosition = position;
+		if (count == 0) {
+			// Streaming fell behind, play a bit of silence rather than waiting
+			final int silence = Math.min(frames, AudioMixer.BLOCK_FRAMES) * 2;
+			for (int sample = 0; sample < silence; sample += 1) {
+				buffer[sample] = 0;
+			}
+			return silence / 2;
+		}
+		return count / 2;
+	}
+
+	@Override
+	public boolean rewind() {
+		this.rewindRequested = true;
+		return true;
+	}
+
+	@Override
+	public void close() {
+		this.closed = true;
+	}
+}
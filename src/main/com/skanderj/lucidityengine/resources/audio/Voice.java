@@ -0,0 +1,94 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+/**
+ * A handle over a single playback in the {@link AudioMixer}. Every method can
+ * be called from any thread, changes are picked up by the mixer on its next
+ * block. The mixer's voices are pooled, but a handle only ever controls the
+ * playback it was returned for: once that playback is over the handle is
+ * {@link #isDone()} & its controls do nothing, even if its voice was reused for
+ * another sound in the meantime.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class Voice {
+	// The pooled voice & the playback of it this handle controls
+	private final VoiceSlot slot;
+	private final int generation;
+	// Which sound the playback is
+	private final String identifier;
+
+	/**
+	 * Used by the mixer.
+	 */
+	Voice(final VoiceSlot slot, final int generation, final String identifier) {
+		this.slot = slot;
+		this.generation = generation;
+		this.identifier = identifier;
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public String identifier() {
+		return this.identifier;
+	}
+
+	/**
+	 * Self explanatory. Between 0 & 1, 0 once done.
+	 */
+	public float volume() {
+		return this.slot.volume(this.generation);
+	}
+
+	/**
+	 * Self explanatory. Between 0 & 1.
+	 */
+	public void setVolume(final float volume) {
+		if ((volume < 0f) || (volume > 1f)) {
+			throw new IllegalArgumentException("Volume not valid: " + volume);
+		}
+		this.slot.setVolume(this.generation, volume);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public void pause() {
+		this.slot.setPaused(this.generation, true);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public void resume() {
+		this.slot.setPaused(this.generation, false);
+	}
+
+	/**
+	 * Self explanatory. The voice can't be restarted afterwards.
+	 */
+	public void stop() {
+		this.slot.stop(this.generation);
+	}
+
+	/**
+	 * Self explanatory.
+	 */
+	public boolean isPaused() {
+		return this.slot.isPaused(this.generation);
+	}
+
+	/**
+	 * @return true once the voice ended or was stopped & left the mixer
+	 */
+	public boolean isDone() {
+		return this.slot.isDone(this.generation);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Voice (params: identifier=%s, volume=%.2f, paused=%b, done=%b)", this.identifier,
+				this.volume(), this.isPaused(), this.isDone());
+	}
+}
@@ -0,0 +1,222 @@
+package com.skanderj.lucidityengine.resources.audio;
+
+/**
+ * A voice of the {@link AudioMixer}'s pool: the state of a single playback.
+ * Slots are reused from one playback to the next, every start bumps the slot's
+ * generation so the {@link Voice} handles of earlier playbacks stop having any
+ * effect on it. Controls are synchronized with starting & finishing, the mixer
+ * thread only reads them.
+ *
+ * @author Skander Jeddi
+ *
+ */
+final class VoiceSlot {
+	// Reused whenever the slot plays a decoded sound
+	private final PcmCursor cursor;
+	// The fields below are only changed while holding the mixer's lock
+	// Which sound is playing, used to control all the voices of a sound at once
+	private String identifier;
+	// Where the samples come from
+	private SoundSource source;
+	// How many more times the sound is played once it ends, -1 for forever
+	private int loopsRemaining;
+	// When the voice was started, in mixer triggers - used to steal the oldest
+	private long startStamp;
+	// Whether the slot is in use
+	private boolean active;
+	// Incremented on every start, identifies the playback
+	private int generation;
+	// Controls
+	private volatile float volume;
+	private volatile boolean paused, stopped;
+	// Set by the mixer once the playback is over
+	private volatile boolean done;
+
+	/**
+	 * Used by the mixer to fill its pool.
+	 */
+	VoiceSlot() {
+		this.cursor = new PcmCursor();
+		this.identifier = null;
+		this.source = null;
+		this.loopsRemaining = 0;
+		this.startStamp = 0;
+		this.active = false;
+		this.generation = 0;
+		this.volume = 0.0F;
+		this.paused = false;
+		this.stopped = false;
+		this.done = true;
+	}
+
+	/**
+	 * Used by the mixer to start playing a decoded sound.
+	 */
+	void start(final String identifier, final PcmSound sound, final float volume, final int loops,
+			final long startStamp) {
+		this.start(identifier, this.cursor.reset(sound), volume, loops, startStamp);
+	}
+
+	/**
+	 * Used by the mixer to start playing from any source.
+	 */
+	synchronized void start(final String identifier, final SoundSource source, final float volume, final int loops,
+			final long startStamp) {
+		this.generation += 1;
+		this.identifier = identifier;
+		this.source = source;
+		this.loopsRemaining = loops;
+		this.startStamp = startStamp;
+		this.volume = volume;
+		this.paused = false;
+		this.stopped = false;
+		this.done = false;
+		this.active = true;
+	}
+
+	/**
+	 * Used by the mixer thread to add this slot's next frames to the mix buffer.
+	 * Returns false once the voice is over.
+	 */
+	boolean mix(final float[] mix, final short[] scratch, final int frames, final float masterVolume) {
+		if (this.stopped) {
+			return false;
+		}
+		if (this.paused) {
+			return true;
+		}
+		final float gain = this.volume * masterVolume;
+		int mixed = 0;
+		boolean rewound = false;
+		while (mixed < frames) {
+			final int read = this.source.read(scratch, frames - mixed);
+			if (read == 0) {
+				// Nothing right after rewinding means the sound is empty, looping it would
+				// never end
+				if (rewound || (this.loopsRemaining == 0) || !this.source.rewind()) {
+					return false;
+				}
+				if (this.loopsRemaining > 0) {
+					this.loopsRemaining -= 1;
+				}
+				rewound = true;
+				continue;
+			}
+			rewound = false;
+			final int offset = mixed * 2;
+			for (int sample = 0; sample < (read * 2); sample += 1) {
+				mix[offset + sample] += scratch[sample] * gain;
+			}
+			mixed += read;
+		}
+		return true;
+	}
+
+	/**
+	 * Used by the mixer once the voice ended, was stopped or stolen.
+	 */
+	synchronized void finish() {
+		this.active = false;
+		this.done = true;
+		this.source.close();
+		this.source = null;
+	}
+
+	/**
+	 * Used by the mixer.
+	 */
+	boolean isActive() {
+		return this.active;
+	}
+
+	/**
+	 * Used by the mixer, a stopped voice is freed on the next block anyway.
+	 */
+	boolean isStopped() {
+		return this.stopped;
+	}
+
+	/**
+	 * Used by the mixer.
+	 */
+	long startStamp() {
+		return this.startStamp;
+	}
+
+	/**
+	 * Used by the mixer.
+	 */
+	int generation() {
+		return this.generation;
+	}
+
+	/**
+	 * Used by the mixer.
+	 */
+	String identifier() {
+		return this.identifier;
+	}
+
+	/**
+	 * Used by the mixer.
+	 */
+	float volume() {
+		return this.volume;
+	}
+
+	/**
+	 * Used by {@link Voice}, the controls below do nothing if the slot moved on to
+	 * another playback.
+	 */
+	synchronized float volume(final int generation) {
+		return generation == this.generation ? this.volume : 0.0F;
+	}
+
+	/**
+	 * Used by {@link Voice}.
+	 */
+	synchronized void setVolume(final int generation, final float volume) {
+		if (generation == this.generation) {
+			this.volume = volume;
+		}
+	}
+
+	/**
+	 * Used by {@link Voice}.
+	 */
+	synchronized void setPaused(final int generation, final boolean paused) {
+		if (generation == this.generation) {
+			this.paused = paused;
+		}
+	}
+
+	/**
+	 * Used by {@link Voice} & the mixer, a stopped playback is freed on the next
+	 * block.
+	 */
+	synchronized void stop(final int generation) {
+		if (generation == this.generation) {
+			this.stopped = true;
+		}
+	}
+
+	/**
+	 * Used by {@link Voice}.
+	 */
+	synchronized boolean isPaused(final int generation) {
+		return (generation == this.generation) && this.paused;
+	}
+
+	/**
+	 * Used by {@link Voice}.
+	 */
+	synchronized boolean isDone(final int generation) {
+		return (generation != this.generation) || this.done;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("VoiceSlot (params: identifier=%s, generation=%d, volume=%.2f, paused=%b, done=%b)",
+				this.identifier, this.generation, this.volume, this.paused, this.done);
+	}
+}
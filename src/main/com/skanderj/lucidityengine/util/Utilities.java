@@ -126,6 +126,14 @@ public final class Utilities {
 		}
 	}
 
+	/**
+	 * Linear interpolation between two states, used when rendering between two
+	 * fixed updates (see {@link com.skanderj.lucidityengine.Application#interpolation()}).
+	 */
+	public static double interpolate(final double previous, final double current, final double alpha) {
+		return previous + ((current - previous) * alpha);
+	}
+
 	/**
 	 * Used for {@link Utilities}{@link #map(float, float, float, float, float,
 	 * boolean))}
@@ -0,0 +1,164 @@
+package com.skanderj.lucidity;
+
+import java.awt.Color;
+import java.awt.Font;
+
+import com.skanderj.lucidityengine.Application;
+import com.skanderj.lucidityengine.ThreadWrapper.ThreadWrapperType;
+import com.skanderj.lucidityengine.core.Engine;
+import com.skanderj.lucidityengine.core.Scene;
+import com.skanderj.lucidityengine.exts.ColorBackground;
+import com.skanderj.lucidityengine.exts.FlickeringLabel;
+import com.skanderj.lucidityengine.graphics.OnScreenTextProperties;
+import com.skanderj.lucidityengine.graphics.OnScreenTextProperties.OnScreenTextPosition;
+import com.skanderj.lucidityengine.graphics.WindowConfiguration;
+import com.skanderj.lucidityengine.input.Keyboard;
+import com.skanderj.lucidityengine.logging.Logger;
+import com.skanderj.lucidityengine.logging.Logger.DebuggingType;
+import com.skanderj.lucidityengine.logging.Logger.LogLevel;
+import com.skanderj.lucidityengine.util.Utilities;
+
+/**
+ * Renders a busy 1080p scene for a few seconds & logs the average frame time.
+ * Run it once with "software" & once with "accelerated" as argument to compare
+ * both {@link com.skanderj.lucidityengine.graphics.Screen} modes.
+ *
+ * @author Skander Jeddi
+ *
+ */
+public final class LucidityEngineBenchmark extends Application {
+	public static final String BENCHMARK_IDENTIFIER = "lucidity-benchmark";
+	public static final int WINDOW_WIDTH = 1920, WINDOW_HEIGHT = 1080, BUFFERS = 2;
+	public static final double TARGET_REFRESH_RATE = 1000.0;
+	public static final int RECTANGLES = 200, LABELS = 20;
+	public static final long DURATION_IN_MS = 10000, WARMUP_IN_MS = 2000;
+
+	private static boolean accelerated;
+
+	private final long startTime;
+	// Only written by the rendering thread, read by the updating thread
+	private volatile long frameTimeSum, frames;
+
+	public LucidityEngineBenchmark() {
+		super(LucidityEngineBenchmark.BENCHMARK_IDENTIFIER, 60.0, LucidityEngineBenchmark.TARGET_REFRESH_RATE,
+				Keyboard.AZERTY);
+		this.startTime = System.currentTimeMillis();
+	}
+
+	@Override
+	public String firstSceneIdentifier() {
+		return "benchmark";
+	}
+
+	@Override
+	protected void loadResources() {
+		return;
+	}
+
+	@Override
+	protected void registerApplicationObjects() {
+		Engine.setObject("background", new ColorBackground(this, 0, 0, LucidityEngineBenchmark.WINDOW_WIDTH,
+				LucidityEngineBenchmark.WINDOW_HEIGHT, Color.DARK_GRAY));
+		for (int index = 0; index < LucidityEngineBenchmark.RECTANGLES; index += 1) {
+			Engine.setObject("rectangle-" + index,
+					new ColorBackground(this, Utilities.randomInteger(0, LucidityEngineBenchmark.WINDOW_WIDTH - 200),
+							Utilities.randomInteger(0, LucidityEngineBenchmark.WINDOW_HEIGHT - 200),
+							Utilities.randomInteger(50, 200), Utilities.randomInteger(50, 200),
+							Utilities.randomColor(true)));
+		}
+		for (int index = 0; index < LucidityEngineBenchmark.LABELS; index += 1) {
+			Engine.setObject("label-" + index,
+					new FlickeringLabel(this, Utilities.randomInteger(0, LucidityEngineBenchmark.WINDOW_WIDTH - 400),
+							Utilities.randomInteger(0, LucidityEngineBenchmark.WINDOW_HEIGHT - 100), 400, 100,
+							"Lucidity Engine", new OnScreenTextProperties(new Font(Font.SANS_SERIF, Font.BOLD, 48),
+									Utilities.randomColor(false), Color.GRAY, OnScreenTextPosition.CENTERED)));
+		}
+	}
+
+	@Override
+	protected void registerScenes() {
+		final Scene scene = new Scene(this) {
+			@Override
+			public void enter() {
+				return;
+			}
+
+			@Override
+			public void exit() {
+				return;
+			}
+		};
+		scene.addComponent("background");
+		for (int index = 0; index < LucidityEngineBenchmark.RECTANGLES; index += 1) {
+			scene.addComponent("rectangle-" + index);
+		}
+		for (int index = 0; index < LucidityEngineBenchmark.LABELS; index += 1) {
+			scene.addComponent("label-" + index);
+		}
+		Engine.registerScene("benchmark", scene);
+	}
+
+	@Override
+	protected void registerBinds() {
+		return;
+	}
+
+	@Override
+	protected void createThread(final ThreadWrapperType type) {
+		switch (type) {
+		case RENDER:
+			this.window.show();
+			return;
+		case UPDATE:
+			return;
+		}
+	}
+
+	@Override
+	protected void destroyThread(final ThreadWrapperType type) {
+		switch (type) {
+		case RENDER:
+			this.window.hide(true);
+			return;
+		case UPDATE:
+			return;
+		}
+	}
+
+	@Override
+	protected void update(final double delta) {
+		super.update(delta);
+		if ((System.currentTimeMillis() - this.startTime) >= LucidityEngineBenchmark.DURATION_IN_MS) {
+			final long frames = this.frames, frameTimeSum = this.frameTimeSum;
+			Logger.log(LucidityEngineBenchmark.class, LogLevel.INFO,
+					"%dx%d, %s rendering: %d frames, %.3f ms average frame time", LucidityEngineBenchmark.WINDOW_WIDTH,
+					LucidityEngineBenchmark.WINDOW_HEIGHT, this.screen().isAccelerated() ? "accelerated" : "software",
+					frames, frames == 0 ? 0 : (frameTimeSum / (double) frames) / 1000000.0D);
+			this.stop();
+		}
+	}
+
+	@Override
+	protected void render() {
+		final long frameStartTime = System.nanoTime();
+		super.render();
+		if ((System.currentTimeMillis() - this.startTime) >= LucidityEngineBenchmark.WARMUP_IN_MS) {
+			this.frameTimeSum += System.nanoTime() - frameStartTime;
+			this.frames += 1;
+		}
+	}
+
+	public static void main(final String[] args) {
+		LucidityEngineBenchmark.accelerated = (args.length == 0) || !args[0].equalsIgnoreCase("software");
+		Logger.toggleDebugging(DebuggingType.CLASSIC, false);
+		Logger.toggleDebugging(DebuggingType.DEVELOPMENT, true);
+		new LucidityEngineBenchmark().start();
+	}
+
+	@Override
+	protected WindowConfiguration windowConfiguration() {
+		return new WindowConfiguration("Lucidity Engine Benchmark", LucidityEngineBenchmark.WINDOW_WIDTH,
+				LucidityEngineBenchmark.WINDOW_HEIGHT, false, LucidityEngineBenchmark.BUFFERS, 0,
+				LucidityEngineBenchmark.accelerated);
+	}
+}